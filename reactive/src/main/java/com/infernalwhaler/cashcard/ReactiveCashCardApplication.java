@@ -0,0 +1,22 @@
+package com.infernalwhaler.cashcard;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * The /cashcards API on WebFlux and R2DBC: no request holds a thread while it waits on the database.
+ * <p>
+ * Lives in the same package as {@code CashCardApplication} so the shared CashCardApplicationTests find it.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootApplication
+public class ReactiveCashCardApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveCashCardApplication.class, args);
+    }
+}
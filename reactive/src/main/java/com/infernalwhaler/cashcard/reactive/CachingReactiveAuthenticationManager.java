@@ -0,0 +1,75 @@
+package com.infernalwhaler.cashcard.reactive;
+
+import com.infernalwhaler.cashcard.security.CredentialCache;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+
+/**
+ * The reactive counterpart of {@code CachingAuthenticationProvider}: a {@link CredentialCache} in front of the BCrypt
+ * check, honoured only while the user still has the password hash and roles the credentials were verified against.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class CachingReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final ReactiveAuthenticationManager delegate;
+    private final ReactiveUserDetailsService userDetailsService;
+    private final CredentialCache credentialCache;
+
+    public CachingReactiveAuthenticationManager(ReactiveAuthenticationManager delegate, ReactiveUserDetailsService userDetailsService,
+                                                CredentialCache credentialCache) {
+        this.delegate = delegate;
+        this.userDetailsService = userDetailsService;
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        final String key = credentialCache.keyFor(authentication.getName(), password);
+        final CredentialCache.Entry cached = credentialCache.get(key);
+        if (cached == null) {
+            return verify(authentication, key);
+        }
+
+        return userDetailsService.findByUsername(authentication.getName())
+                .filter(user -> isUsable(user) && cached.fingerprint().equals(fingerprint(user)))
+                .<Authentication>map(user -> UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()))
+                .switchIfEmpty(Mono.defer(() -> {
+                    credentialCache.remove(key);
+                    return verify(authentication, key);
+                }));
+    }
+
+    private Mono<Authentication> verify(Authentication authentication, String key) {
+        return delegate.authenticate(authentication).doOnNext(result -> {
+            if (result.getPrincipal() instanceof UserDetails user && user.getPassword() != null) {
+                credentialCache.put(key, authentication.getName(), fingerprint(user));
+            }
+        });
+    }
+
+    private static boolean isUsable(UserDetails user) {
+        return user.isEnabled() && user.isAccountNonLocked() && user.isAccountNonExpired() && user.isCredentialsNonExpired();
+    }
+
+    private static String fingerprint(UserDetails user) {
+        return user.getPassword() + '|' + user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+}
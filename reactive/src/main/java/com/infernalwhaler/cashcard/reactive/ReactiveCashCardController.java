@@ -0,0 +1,95 @@
+package com.infernalwhaler.cashcard.reactive;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+
+/**
+ * The core of the {@code CashCardController} contract: same paths, status codes, bodies and ownership checks.
+ * Lists are returned as a {@link Flux} written row by row, a JSON array or, with {@code Accept: application/x-ndjson},
+ * one card per line, and rows are only read as fast as the client takes them.
+ * <p>
+ * Conditional writes, batches, imports, the ledger and the summary are only served by the servlet application.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@RestController
+@RequestMapping("/cashcards")
+public class ReactiveCashCardController {
+
+    private final ReactiveCashCardRepository cashCardRepository;
+    private final int fetchSize;
+
+    public ReactiveCashCardController(ReactiveCashCardRepository cashCardRepository,
+                                      @Value("${cashcard.export.fetch-size:500}") int fetchSize) {
+        this.cashCardRepository = cashCardRepository;
+        this.fetchSize = fetchSize;
+    }
+
+    @GetMapping("/{requestedId}")
+    private Mono<ResponseEntity<CashCard>> findById(@PathVariable Long requestedId, Principal principal) {
+        return cashCardRepository.findByIdAndOwner(requestedId, principal.getName())
+                .map(cashCard -> ResponseEntity.ok().eTag(String.valueOf(cashCard.version())).body(cashCard))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * @apiNote Sorted by amount when the request does not say otherwise, like the servlet application.
+     */
+    @GetMapping
+    private Flux<CashCard> findAll(Pageable pageable, Principal principal) {
+        return cashCardRepository.findByOwner(principal.getName(), PageRequest.of(
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                pageable.getSortOr(Sort.by(Sort.Direction.ASC, "amount"))));
+    }
+
+    /**
+     * @return every card of the owner as newline-delimited JSON.
+     * @implNote At most fetch-size rows are requested from the database ahead of what the connection has written.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    private Flux<CashCard> exportCashCards(Principal principal) {
+        return cashCardRepository.streamByOwner(principal.getName()).limitRate(fetchSize);
+    }
+
+    @PostMapping
+    private Mono<ResponseEntity<Void>> createCashCard(@RequestBody CashCard newCashCardRequest, UriComponentsBuilder uriComponentsBuilder,
+                                                      Principal principal) {
+        return cashCardRepository.save(new CashCard(null, newCashCardRequest.amount(), principal.getName()))
+                .map(savedCashCard -> ResponseEntity.created(uriComponentsBuilder
+                        .path("cashcards/{id}")
+                        .buildAndExpand(savedCashCard.id())
+                        .toUri()).build());
+    }
+
+    @PutMapping("/{requestedId}")
+    private Mono<ResponseEntity<Void>> updateCashCard(@PathVariable Long requestedId, @RequestBody CashCard cashCardUpdate,
+                                                      Principal principal) {
+        return cashCardRepository.updateAmountByIdAndOwner(requestedId, cashCardUpdate.amount(), principal.getName())
+                .map(ReactiveCashCardController::noContentOrNotFound);
+    }
+
+    @DeleteMapping("/{id}")
+    private Mono<ResponseEntity<Void>> deleteCashCard(@PathVariable Long id, Principal principal) {
+        return cashCardRepository.deleteByIdAndOwner(id, principal.getName())
+                .map(ReactiveCashCardController::noContentOrNotFound);
+    }
+
+    private static ResponseEntity<Void> noContentOrNotFound(int rows) {
+        return rows == 0 ? ResponseEntity.notFound().build() : ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.infernalwhaler.cashcard.reactive;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The owner-scoped reads and single-statement writes of {@code CashCardRepository}, on R2DBC.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public interface ReactiveCashCardRepository extends ReactiveCrudRepository<CashCard, Long> {
+
+    Mono<CashCard> findByIdAndOwner(Long id, String owner);
+
+    Flux<CashCard> findByOwner(String owner, Pageable pageable);
+
+    /**
+     * Every card of the owner in a stable order, emitted as the subscriber requests them.
+     */
+    @Query("SELECT * FROM cash_card WHERE owner = :owner ORDER BY id")
+    Flux<CashCard> streamByOwner(String owner);
+
+    /**
+     * @return the number of rows updated: 0 when the card does not exist or belongs to another owner.
+     */
+    @Modifying
+    @Query("UPDATE cash_card SET amount = :amount, version = version + 1 WHERE id = :id AND owner = :owner")
+    Mono<Integer> updateAmountByIdAndOwner(Long id, long amount, String owner);
+
+    /**
+     * @return the number of rows deleted: 0 when the card does not exist or belongs to another owner.
+     */
+    @Modifying
+    @Query("DELETE FROM cash_card WHERE id = :id AND owner = :owner")
+    Mono<Integer> deleteByIdAndOwner(Long id, String owner);
+}
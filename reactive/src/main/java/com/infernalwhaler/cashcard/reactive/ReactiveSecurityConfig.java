@@ -0,0 +1,87 @@
+package com.infernalwhaler.cashcard.reactive;
+
+import com.infernalwhaler.cashcard.security.CredentialCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import java.time.Duration;
+
+/**
+ * The rules of {@code SecurityConfig} as a WebFilter chain: HTTP Basic, CARD-OWNER for /cashcards/**, the same
+ * test-only users. BCrypt runs off the event loop, on the bounded elastic scheduler.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    /**
+     * @implNote Stateless like the servlet chain: every request carries its credentials, no session is created.
+     */
+    @Bean
+    SecurityWebFilterChain filterChain(ServerHttpSecurity http, ReactiveAuthenticationManager authenticationManager) {
+        return http
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/cashcards/**")
+                        .hasRole("CARD-OWNER")
+                        .pathMatchers("/actuator/health")
+                        .permitAll()
+                        .anyExchange()
+                        .authenticated())
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authenticationManager(authenticationManager)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .httpBasic(Customizer.withDefaults())
+                .build();
+    }
+
+    @Bean
+    PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    @Bean
+    ReactiveAuthenticationManager authenticationManager(ReactiveUserDetailsService userDetailsService,
+                                                        PasswordEncoder passwordEncoder,
+                                                        @Value("${cashcard.security.credential-cache.enabled:true}") boolean cacheEnabled,
+                                                        @Value("${cashcard.security.credential-cache.max-size:10000}") int maxSize,
+                                                        @Value("${cashcard.security.credential-cache.ttl:5m}") Duration ttl) {
+        final UserDetailsRepositoryReactiveAuthenticationManager bcrypt = new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        bcrypt.setPasswordEncoder(passwordEncoder);
+
+        if (!cacheEnabled) {
+            return bcrypt;
+        }
+        return new CachingReactiveAuthenticationManager(bcrypt, userDetailsService, new CredentialCache(maxSize, ttl));
+    }
+
+    /**
+     * Test-only users, the ones of the servlet application.
+     */
+    @Bean
+    ReactiveUserDetailsService testOnlyUsers(PasswordEncoder passwordEncoder) {
+        final User.UserBuilder users = User.builder();
+
+        return new MapReactiveUserDetailsService(
+                users.username("Sarah").password(passwordEncoder.encode("abc123")).roles("CARD-OWNER").build(),
+                users.username("hank-owns-no-cards").password(passwordEncoder.encode("qrs456")).roles("NON-OWNER").build(),
+                users.username("Kumar").password(passwordEncoder.encode("xyz789")).roles("CARD-OWNER").build());
+    }
+}
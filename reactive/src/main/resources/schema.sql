@@ -0,0 +1,10 @@
+-- The cash_card table of the servlet application, without the triggers that need its classes
+CREATE TABLE cash_card
+(
+    ID      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    AMOUNT  BIGINT       NOT NULL DEFAULT 0, -- minor units (cents)
+    OWNER   VARCHAR(256) NOT NULL,
+    VERSION BIGINT       NOT NULL DEFAULT 0 -- bumped by every write, served as the ETag
+);
+
+CREATE INDEX idx_cash_card_owner_amount_id ON cash_card (owner, amount, id);
@@ -0,0 +1,85 @@
+package com.infernalwhaler.cashcard;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lists and exports of the reactive variant read as a stream of cards, one per NDJSON line.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveCashCardStreamingTests {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void shouldExportOwnCardsAsNdjson() {
+        final Flux<CashCard> cashCards = webTestClient.get()
+                .uri("/cashcards/export")
+                .headers(headers -> headers.setBasicAuth("Sarah", "abc123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(CashCard.class)
+                .getResponseBody();
+
+        StepVerifier.create(cashCards.map(CashCard::id))
+                .expectNext(99L, 100L, 101L)
+                .verifyComplete();
+    }
+
+    /**
+     * A client taking one card at a time still gets the whole list, in the default amount order.
+     */
+    @Test
+    void shouldStreamAListAsNdjsonWhenAsked() {
+        final Flux<CashCard> cashCards = webTestClient.get()
+                .uri("/cashcards")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .headers(headers -> headers.setBasicAuth("Sarah", "abc123"))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(CashCard.class)
+                .getResponseBody();
+
+        StepVerifier.create(cashCards.map(CashCard::amount), 1)
+                .expectNext(100L)
+                .thenRequest(2)
+                .expectNext(12345L, 15000L)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectExportsFromUsersWhoAreNotCardOwners() {
+        webTestClient.get()
+                .uri("/cashcards/export")
+                .headers(headers -> headers.setBasicAuth("hank-owns-no-cards", "qrs456"))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void shouldNotServeTheCardsOfAnotherOwner() {
+        final byte[] body = webTestClient.get()
+                .uri("/cashcards/102")
+                .headers(headers -> headers.setBasicAuth("Sarah", "abc123"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().returnResult().getResponseBody();
+
+        assertThat(body).isNullOrEmpty();
+    }
+}
@@ -0,0 +1,59 @@
+package com.infernalwhaler.cashcard.benchmark;
+
+import com.infernalwhaler.cashcard.CashCardApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Starts the application inside a benchmark fork and seeds its in-memory H2 database.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public final class BenchmarkApplication {
+
+    public static final String OWNER = "Sarah";
+
+    private static final int SEED_CHUNK = 1_000_000;
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts the application on a random port with the given extra command line arguments.
+     */
+    public static ConfigurableApplicationContext start(String... args) {
+        final String[] allArgs = Arrays.copyOf(args, args.length + 2);
+        allArgs[args.length] = "--server.port=0";
+        allArgs[args.length + 1] = "--logging.level.root=WARN";
+        return new SpringApplicationBuilder(CashCardApplication.class).run(allArgs);
+    }
+
+    /**
+     * Inserts {@code rows} cards with pseudo-random amounts, spread round-robin over {@code owners} owners,
+     * {@link #OWNER} being one of them. Rows are generated inside H2 in chunks, so seeding 10M rows stays bounded in memory.
+     */
+    public static void seed(ConfigurableApplicationContext context, long rows, int owners) {
+        final JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        for (long from = 1; from <= rows; from += SEED_CHUNK) {
+            final long to = Math.min(rows, from + SEED_CHUNK - 1);
+            jdbcTemplate.update("""
+                    INSERT INTO cash_card (amount, owner)
+                    SELECT MOD(X * 7919, 1000000), CASE WHEN MOD(X, ?) = 0 THEN ? ELSE CONCAT('owner-', MOD(X, ?)) END
+                    FROM SYSTEM_RANGE(?, ?)
+                    """, owners, OWNER, owners, from, to);
+        }
+    }
+
+    public static String basicAuth(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+package com.infernalwhaler.cashcard.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * The full request path through MockMvc: security filter chain, authentication, controller, repository and Jackson,
+ * without the socket. The auth parameter compares HTTP Basic with and without the credential cache against a bearer token.
+ * <p>
+ * {@code ./gradlew jmh -Pbenchmark=ControllerBenchmark}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerBenchmark {
+
+    @Param({"basic", "basic-uncached", "bearer"})
+    String auth;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String authorization;
+    private String cashCardUri;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start(
+                "--spring.cache.type=none",
+                "--cashcard.security.token.enabled=true",
+                "--cashcard.security.credential-cache.enabled=" + !auth.equals("basic-uncached"));
+        BenchmarkApplication.seed(context, 10_000, 10);
+
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+        cashCardUri = "/cashcards/" + context.getBean(JdbcTemplate.class).queryForObject(
+                "SELECT MIN(id) FROM cash_card WHERE owner = ?", Long.class, BenchmarkApplication.OWNER);
+
+        authorization = BenchmarkApplication.basicAuth(BenchmarkApplication.OWNER, "abc123");
+        if (auth.equals("bearer")) {
+            final String response = mockMvc.perform(post("/auth/token").header(HttpHeaders.AUTHORIZATION, authorization))
+                    .andReturn().getResponse().getContentAsString();
+            authorization = "Bearer " + new ObjectMapper().readTree(response).get("token").asText();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String findById() throws Exception {
+        return mockMvc.perform(get(cashCardUri).header(HttpHeaders.AUTHORIZATION, authorization))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Benchmark
+    public String findAll() throws Exception {
+        return mockMvc.perform(get("/cashcards").param("size", "20").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.infernalwhaler.cashcard.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infernalwhaler.cashcard.model.CashCard;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson read and write of a single CashCard and of a CashCard[] page, with the ObjectMapper settings Spring Boot applies.
+ * <p>
+ * {@code ./gradlew jmh -Pbenchmark=JacksonBenchmark}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+    @Param({"20", "1000"})
+    int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private CashCard cashCard;
+    private CashCard[] cashCards;
+    private byte[] cashCardJson;
+    private byte[] cashCardsJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        final SplittableRandom random = new SplittableRandom(42);
+        cashCards = new CashCard[size];
+        for (int i = 0; i < size; i++) {
+            cashCards[i] = new CashCard((long) i, random.nextLong(1_000_000), BenchmarkApplication.OWNER);
+        }
+        cashCard = cashCards[0];
+        cashCardJson = objectMapper.writeValueAsBytes(cashCard);
+        cashCardsJson = objectMapper.writeValueAsBytes(cashCards);
+    }
+
+    @Benchmark
+    public byte[] writeCashCard() throws IOException {
+        return objectMapper.writeValueAsBytes(cashCard);
+    }
+
+    @Benchmark
+    public CashCard readCashCard() throws IOException {
+        return objectMapper.readValue(cashCardJson, CashCard.class);
+    }
+
+    @Benchmark
+    public byte[] writeCashCards() throws IOException {
+        return objectMapper.writeValueAsBytes(cashCards);
+    }
+
+    @Benchmark
+    public CashCard[] readCashCards() throws IOException {
+        return objectMapper.readValue(cashCardsJson, CashCard[].class);
+    }
+}
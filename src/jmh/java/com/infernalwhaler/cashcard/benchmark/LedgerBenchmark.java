@@ -0,0 +1,119 @@
+package com.infernalwhaler.cashcard.benchmark;
+
+import org.h2.tools.RunScript;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-time balance reads as the ledger grows to 100M entries over 100k cards: the seek for the last entry at or
+ * before the instant, which carries the balance, against replaying the card's movements up to it.
+ * The ledger lives in a file-based H2 database, 100M entries do not fit an in-memory one.
+ * <p>
+ * {@code ./gradlew jmh -Pbenchmark=LedgerBenchmark}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LedgerBenchmark {
+
+    private static final String OWNER = "Sarah";
+    private static final int CARDS = 100_000;
+    private static final long SEED_CHUNK = 1_000_000;
+    private static final OffsetDateTime EPOCH = OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Param({"1000000", "10000000", "100000000"})
+    long entries;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement seek;
+    private PreparedStatement replay;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("cashcard-ledger");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("ledger"));
+        try (Reader schema = new InputStreamReader(
+                Objects.requireNonNull(LedgerBenchmark.class.getResourceAsStream("/schema.sql")), StandardCharsets.UTF_8)) {
+            RunScript.execute(connection, schema);
+        }
+        // one entry per millisecond, round-robin over the cards, written straight to the ledger rather than through the trigger
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO cash_card_ledger (card_id, owner, type, delta, balance_after, version, recorded_at)
+                SELECT MOD(X, ?) + 1, ?, 'UPDATE', 1, MOD(X * 7919, 1000000), X / ?, DATEADD(MILLISECOND, X, CAST(? AS TIMESTAMP WITH TIME ZONE))
+                FROM SYSTEM_RANGE(?, ?)
+                """)) {
+            for (long from = 1; from <= entries; from += SEED_CHUNK) {
+                insert.setInt(1, CARDS);
+                insert.setString(2, OWNER);
+                insert.setInt(3, CARDS);
+                insert.setObject(4, EPOCH);
+                insert.setLong(5, from);
+                insert.setLong(6, Math.min(entries, from + SEED_CHUNK - 1));
+                insert.executeUpdate();
+            }
+        }
+        seek = connection.prepareStatement("""
+                SELECT balance_after FROM cash_card_ledger
+                WHERE card_id = ? AND recorded_at <= ? AND owner = ?
+                ORDER BY recorded_at DESC, id DESC
+                LIMIT 1""");
+        replay = connection.prepareStatement(
+                "SELECT SUM(delta) FROM cash_card_ledger WHERE card_id = ? AND recorded_at <= ? AND owner = ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public long asOfSeek() throws SQLException {
+        return read(seek);
+    }
+
+    @Benchmark
+    public long asOfReplay() throws SQLException {
+        return read(replay);
+    }
+
+    private long read(PreparedStatement statement) throws SQLException {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        statement.setLong(1, random.nextInt(CARDS) + 1);
+        statement.setObject(2, EPOCH.plusNanos(random.nextLong(entries) * 1_000_000));
+        statement.setString(3, OWNER);
+        try (ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.infernalwhaler.cashcard.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infernalwhaler.cashcard.model.CashCard;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the long minor-unit amount against the boxed Double it replaced, for JSON and for summing balances.
+ * <p>
+ * {@code ./gradlew jmh -Pbenchmark=MoneyBenchmark}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    /**
+     * The card as it was before amounts became minor units.
+     */
+    public record DoubleCashCard(Long id, Double amount, String owner) {
+    }
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CashCard[] cashCards;
+    private DoubleCashCard[] doubleCashCards;
+    private byte[] cashCardsJson;
+    private byte[] doubleCashCardsJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        final SplittableRandom random = new SplittableRandom(42);
+        cashCards = new CashCard[size];
+        doubleCashCards = new DoubleCashCard[size];
+
+        for (int i = 0; i < size; i++) {
+            final long cents = random.nextLong(1_000_000);
+            cashCards[i] = new CashCard((long) i, cents, "Sarah");
+            doubleCashCards[i] = new DoubleCashCard((long) i, cents / 100.0, "Sarah");
+        }
+        cashCardsJson = objectMapper.writeValueAsBytes(cashCards);
+        doubleCashCardsJson = objectMapper.writeValueAsBytes(doubleCashCards);
+    }
+
+    @Benchmark
+    public byte[] serializeLong() throws IOException {
+        return objectMapper.writeValueAsBytes(cashCards);
+    }
+
+    @Benchmark
+    public byte[] serializeDouble() throws IOException {
+        return objectMapper.writeValueAsBytes(doubleCashCards);
+    }
+
+    @Benchmark
+    public CashCard[] deserializeLong() throws IOException {
+        return objectMapper.readValue(cashCardsJson, CashCard[].class);
+    }
+
+    @Benchmark
+    public DoubleCashCard[] deserializeDouble() throws IOException {
+        return objectMapper.readValue(doubleCashCardsJson, DoubleCashCard[].class);
+    }
+
+    @Benchmark
+    public long sumLong() {
+        long total = 0;
+        for (CashCard cashCard : cashCards) {
+            total += cashCard.amount();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double sumDouble() {
+        double total = 0;
+        for (DoubleCashCard cashCard : doubleCashCards) {
+            total += cashCard.amount();
+        }
+        return total;
+    }
+}
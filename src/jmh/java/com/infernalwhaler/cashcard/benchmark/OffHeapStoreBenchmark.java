@@ -0,0 +1,69 @@
+package com.infernalwhaler.cashcard.benchmark;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.offheap.OffHeapCardStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in the off-heap card store as it grows to 100M cards over 1M owners.
+ * {@code -prof gc} shows the only allocation left is the returned record, and none at all for the version read.
+ * <p>
+ * {@code ./gradlew jmh -Pbenchmark=OffHeapStoreBenchmark}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:MaxDirectMemorySize=4g"})
+public class OffHeapStoreBenchmark {
+
+    private static final int OWNERS = 1_000_000;
+
+    @Param({"1000000", "10000000", "100000000"})
+    long cards;
+
+    private OffHeapCardStore store;
+    private String[] owners;
+
+    @Setup
+    public void setUp() {
+        owners = new String[OWNERS];
+        for (int owner = 0; owner < OWNERS; owner++) {
+            owners[owner] = "owner-" + owner;
+        }
+        store = new OffHeapCardStore();
+        for (long id = 1; id <= cards; id++) {
+            store.put(new CashCard(id, id * 7919 % 1_000_000, owners[(int) (id % OWNERS)], 0L));
+        }
+        System.gc();
+        System.out.printf("%n%d cards: %d MB off-heap, %d MB heap%n", store.size(), store.offHeapBytes() >> 20,
+                (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) >> 20);
+    }
+
+    @Benchmark
+    public CashCard findByIdAndOwner() {
+        final long id = ThreadLocalRandom.current().nextLong(1, cards + 1);
+        return store.get(id, owners[(int) (id % OWNERS)]);
+    }
+
+    @Benchmark
+    public long findVersionByIdAndOwner() {
+        final long id = ThreadLocalRandom.current().nextLong(1, cards + 1);
+        return store.version(id, owners[(int) (id % OWNERS)]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public CashCard findByIdAndOwnerConcurrently() {
+        return findByIdAndOwner();
+    }
+}
@@ -0,0 +1,71 @@
+package com.infernalwhaler.cashcard.benchmark;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.model.CashCardCursor;
+import com.infernalwhaler.cashcard.repository.CashCardRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OFFSET pagination against the keyset cursor of GET /cashcards, on page 1 and page 10,000 of one owner's 1M cards.
+ * Keyset latency should stay flat while OFFSET grows with the page number.
+ * <p>
+ * {@code ./gradlew jmh -Pbenchmark=PaginationBenchmark}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PaginationBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1", "10000"})
+    int page;
+
+    private ConfigurableApplicationContext context;
+    private CashCardRepository cashCardRepository;
+    private CashCardCursor cursor;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("--spring.cache.type=none");
+        BenchmarkApplication.seed(context, ROWS, 1);
+        cashCardRepository = context.getBean(CashCardRepository.class);
+
+        // the cursor a client holds after reading the previous page
+        cursor = page == 1 ? null : context.getBean(JdbcTemplate.class).queryForObject(
+                "SELECT amount, id FROM cash_card WHERE owner = ? ORDER BY amount, id LIMIT 1 OFFSET ?",
+                (resultSet, rowNum) -> new CashCardCursor(resultSet.getLong("amount"), resultSet.getLong("id")),
+                BenchmarkApplication.OWNER, (page - 1) * PAGE_SIZE - 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Slice<CashCard> offset() {
+        return cashCardRepository.findByOwner(BenchmarkApplication.OWNER, PageRequest.of(page - 1, PAGE_SIZE, Sort.by("amount", "id")));
+    }
+
+    @Benchmark
+    public Slice<CashCard> keyset() {
+        return cashCardRepository.findByOwnerAfter(BenchmarkApplication.OWNER, cursor, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,69 @@
+package com.infernalwhaler.cashcard.benchmark;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.repository.CashCardRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CashCardRepository} lookups against H2 as the table grows, with the card cache off so every call is a query.
+ * Rows are spread over 1000 owners, so the owner read holds a thousandth of the table.
+ * <p>
+ * {@code ./gradlew jmh -Pbenchmark=RepositoryBenchmark}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class RepositoryBenchmark {
+
+    private static final int OWNERS = 1000;
+
+    @Param({"10000", "1000000", "10000000"})
+    long rows;
+
+    private ConfigurableApplicationContext context;
+    private CashCardRepository cashCardRepository;
+    private long[] ids;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("--spring.cache.type=none");
+        BenchmarkApplication.seed(context, rows, OWNERS);
+        cashCardRepository = context.getBean(CashCardRepository.class);
+
+        final List<Long> ownIds = context.getBean(JdbcTemplate.class).queryForList(
+                "SELECT id FROM cash_card WHERE owner = ? LIMIT 1024", Long.class, BenchmarkApplication.OWNER);
+        ids = ownIds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CashCard findByIdAndOwner() {
+        return cashCardRepository.findByIdAndOwner(ids[ThreadLocalRandom.current().nextInt(ids.length)], BenchmarkApplication.OWNER);
+    }
+
+    @Benchmark
+    public Slice<CashCard> findByOwner() {
+        return cashCardRepository.findByOwner(BenchmarkApplication.OWNER, PageRequest.of(0, 20, Sort.by("amount")));
+    }
+}
@@ -0,0 +1,66 @@
+package com.infernalwhaler.cashcard.benchmark;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.repository.CashCardRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card creation throughput as the number of file-based H2 shards grows, from 16 writers spread over 1000 owners.
+ * Each insert commits on its owner's shard, so writers only contend with those that hash to the same database.
+ * <p>
+ * {@code ./gradlew jmh -Pbenchmark=ShardingBenchmark}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class ShardingBenchmark {
+
+    private static final int OWNERS = 1000;
+
+    @Param({"1", "2", "4", "8"})
+    int shards;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private CashCardRepository cashCardRepository;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("cashcard-shards");
+        context = BenchmarkApplication.start(
+                "--cashcard.sharding.enabled=true",
+                "--cashcard.sharding.shards=" + shards,
+                "--cashcard.sharding.url=jdbc:h2:file:" + directory.resolve("shard-{shard}"),
+                "--spring.cache.type=none");
+        cashCardRepository = context.getBean(CashCardRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public CashCard create() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        return cashCardRepository.save(new CashCard(null, random.nextLong(1_000_000), "owner-" + random.nextInt(OWNERS)));
+    }
+}
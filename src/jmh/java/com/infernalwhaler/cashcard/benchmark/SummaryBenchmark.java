@@ -0,0 +1,102 @@
+package com.infernalwhaler.cashcard.benchmark;
+
+import org.h2.tools.RunScript;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading an owner's summary from the trigger-maintained cash_card_summary row against aggregating cash_card on demand,
+ * plus what the trigger adds to a balance update.
+ * <p>
+ * {@code ./gradlew jmh -Pbenchmark=SummaryBenchmark}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummaryBenchmark {
+
+    private static final String OWNER = "Sarah";
+
+    @Param({"10000", "1000000"})
+    int rows;
+
+    private Connection connection;
+    private PreparedStatement summaryTable;
+    private PreparedStatement aggregateQuery;
+    private PreparedStatement credit;
+    private long lastId;
+
+    @Setup
+    public void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:summary-" + rows + ";DB_CLOSE_DELAY=-1");
+        try (Reader schema = new InputStreamReader(
+                Objects.requireNonNull(SummaryBenchmark.class.getResourceAsStream("/schema.sql")), StandardCharsets.UTF_8)) {
+            RunScript.execute(connection, schema);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO cash_card (amount, owner) SELECT MOD(X * 7919, 1000000), '" + OWNER + "' FROM SYSTEM_RANGE(1, " + rows + ")");
+            statement.executeUpdate("INSERT INTO cash_card (amount, owner) SELECT X, 'Kumar' FROM SYSTEM_RANGE(1, 1000)");
+        }
+        summaryTable = connection.prepareStatement(
+                "SELECT card_count, total_amount, min_amount, max_amount FROM cash_card_summary WHERE owner = ?");
+        aggregateQuery = connection.prepareStatement(
+                "SELECT COUNT(*), SUM(amount), MIN(amount), MAX(amount) FROM cash_card WHERE owner = ?");
+        credit = connection.prepareStatement("UPDATE cash_card SET amount = amount + 1 WHERE id = ? AND owner = ?");
+        lastId = rows;
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long summaryTable() throws SQLException {
+        return readTotal(summaryTable);
+    }
+
+    @Benchmark
+    public long aggregateQuery() throws SQLException {
+        return readTotal(aggregateQuery);
+    }
+
+    /**
+     * Includes the trigger keeping cash_card_summary up to date.
+     */
+    @Benchmark
+    public int credit() throws SQLException {
+        credit.setLong(1, lastId);
+        credit.setString(2, OWNER);
+        return credit.executeUpdate();
+    }
+
+    private static long readTotal(PreparedStatement statement) throws SQLException {
+        statement.setString(1, OWNER);
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(2);
+        }
+    }
+}
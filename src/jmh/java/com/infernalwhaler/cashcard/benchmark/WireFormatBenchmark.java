@@ -0,0 +1,65 @@
+package com.infernalwhaler.cashcard.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infernalwhaler.cashcard.model.CashCard;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON against CBOR for the payloads the API negotiates, a CashCard[] of 1, 100 and 10,000 cards.
+ * The encoded size of each combination is printed before it runs.
+ * <p>
+ * {@code ./gradlew jmh -Pbenchmark=WireFormatBenchmark}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"1", "100", "10000"})
+    int size;
+
+    @Param({"json", "cbor"})
+    String format;
+
+    private ObjectMapper objectMapper;
+    private CashCard[] cashCards;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = format.equals("cbor")
+                ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+
+        final SplittableRandom random = new SplittableRandom(42);
+        cashCards = new CashCard[size];
+        for (int i = 0; i < size; i++) {
+            cashCards[i] = new CashCard(1_000_000L + i, random.nextLong(1_000_000), BenchmarkApplication.OWNER);
+        }
+        encoded = objectMapper.writeValueAsBytes(cashCards);
+        System.out.printf("%n%s, %d cards: %d bytes, %.1f bytes/card%n", format, size, encoded.length, (double) encoded.length / size);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return objectMapper.writeValueAsBytes(cashCards);
+    }
+
+    @Benchmark
+    public CashCard[] read() throws IOException {
+        return objectMapper.readValue(encoded, CashCard[].class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.infernalwhaler.cashcard.load;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Creates 1k, 10k and 100k cards through POST /cashcards (one card per call) and through POST /cashcards/batch,
+ * and reports items per second for both paths.
+ * <p>
+ * {@code ./gradlew loadTest -Pscenario=BatchLoadTest -Pclients=64}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class BatchLoadTest {
+
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+
+    public static void main(String[] args) throws Exception {
+        final int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        final String authorization = LoadHarness.basicAuth("Sarah", "abc123");
+        final HttpClient httpClient = HttpClient.newHttpClient();
+
+        try (ConfigurableApplicationContext context = LoadHarness.start()) {
+            final URI baseUri = LoadHarness.baseUri(context);
+
+            for (int size : SIZES) {
+                final HttpRequest single = HttpRequest.newBuilder(baseUri.resolve("/cashcards"))
+                        .header("Authorization", authorization)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"amount\": 10.00}"))
+                        .build();
+
+                final AtomicInteger remaining = new AtomicInteger(size);
+                final long singleStart = System.nanoTime();
+                try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                    for (int client = 0; client < clients; client++) {
+                        executor.submit(() -> {
+                            while (remaining.getAndDecrement() > 0) {
+                                httpClient.send(single, HttpResponse.BodyHandlers.discarding());
+                            }
+                            return null;
+                        });
+                    }
+                }
+                report("single-item", size, clients, System.nanoTime() - singleStart);
+
+                final String operations = IntStream.range(0, size)
+                        .mapToObj(i -> "{\"op\":\"CREATE\",\"amount\":10.00}")
+                        .collect(Collectors.joining(",", "[", "]"));
+                final HttpRequest batch = HttpRequest.newBuilder(baseUri.resolve("/cashcards/batch"))
+                        .header("Authorization", authorization)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(operations))
+                        .build();
+
+                final long batchStart = System.nanoTime();
+                final HttpResponse<Void> response = httpClient.send(batch, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("Batch of " + size + " failed with " + response.statusCode());
+                }
+                report("batch", size, 1, System.nanoTime() - batchStart);
+            }
+        }
+    }
+
+    private static void report(String path, int size, int clients, long elapsedNanos) {
+        System.out.printf("%-12s items=%-7d clients=%-4d elapsed=%8.1fms items/s=%.0f%n",
+                path, size, clients, elapsedNanos / 1e6, size / (elapsedNanos / 1e9));
+    }
+}
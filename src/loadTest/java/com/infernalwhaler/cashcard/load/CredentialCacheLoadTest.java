@@ -0,0 +1,51 @@
+package com.infernalwhaler.cashcard.load;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Compares GET /cashcards/{id} throughput with the verified-credential cache disabled and enabled.
+ * <p>
+ * {@code ./gradlew loadTest -Pscenario=CredentialCacheLoadTest -Pclients=64 -Pseconds=20}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class CredentialCacheLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        final int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        final Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 20);
+        final String authorization = LoadHarness.basicAuth("Sarah", "abc123");
+        final HttpClient httpClient = HttpClient.newHttpClient();
+
+        for (boolean cacheEnabled : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context =
+                         LoadHarness.start("--cashcard.security.credential-cache.enabled=" + cacheEnabled)) {
+                final URI baseUri = LoadHarness.baseUri(context);
+
+                final HttpResponse<Void> created = httpClient.send(HttpRequest.newBuilder(baseUri.resolve("/cashcards"))
+                        .header("Authorization", authorization)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"amount\": 123.45}"))
+                        .build(), HttpResponse.BodyHandlers.discarding());
+                final URI location = baseUri.resolve(created.headers().firstValue("Location").orElseThrow());
+
+                final HttpRequest read = HttpRequest.newBuilder(location)
+                        .header("Authorization", authorization)
+                        .GET()
+                        .build();
+
+                System.out.println(LoadHarness.run("credential-cache=" + cacheEnabled, httpClient, clients,
+                        Duration.ofSeconds(5), duration, client -> read));
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.infernalwhaler.cashcard.load;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Rows per minute of POST /cashcards/import for a 1M line CSV and NDJSON file, against one card per POST /cashcards
+ * from 64 clients for the same duration. The import target is 1M rows/minute.
+ * <p>
+ * Every imported row fires the ledger trigger next to the summary trigger, so the files are imported a second time
+ * with the ledger trigger dropped: the difference is what the ledger costs the import.
+ * <p>
+ * {@code ./gradlew loadTest -Pscenario=ImportLoadTest -Pseconds=20}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class ImportLoadTest {
+
+    private static final int ROWS = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        final Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 20);
+        final String authorization = LoadHarness.basicAuth("Sarah", "abc123");
+        final HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        try (ConfigurableApplicationContext context = LoadHarness.start("--spring.cache.type=none")) {
+            final URI baseUri = LoadHarness.baseUri(context);
+
+            final LoadHarness.Result single = LoadHarness.run("single-post", httpClient, 64, Duration.ofSeconds(5), duration,
+                    client -> HttpRequest.newBuilder(baseUri.resolve("/cashcards"))
+                            .header("Authorization", authorization)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"amount\": 12.34}"))
+                            .build());
+            System.out.println(single);
+            System.out.printf("single-post rows/minute=%.0f%n", single.throughput() * 60);
+
+            for (String ledger : new String[]{"ledger", "no-ledger"}) {
+                if (ledger.equals("no-ledger")) {
+                    context.getBean(JdbcTemplate.class).execute("DROP TRIGGER trg_cash_card_ledger");
+                }
+                for (String contentType : new String[]{"text/csv", "application/x-ndjson"}) {
+                    importFile(httpClient, baseUri, authorization, contentType, ledger);
+                }
+            }
+        }
+    }
+
+    private static void importFile(HttpClient httpClient, URI baseUri, String authorization, String contentType, String ledger) throws Exception {
+        final byte[] file = file(contentType);
+        final long start = System.nanoTime();
+        final HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(baseUri.resolve("/cashcards/import"))
+                .header("Authorization", authorization)
+                .header("Content-Type", contentType)
+                .timeout(Duration.ofMinutes(10))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(file))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        final double seconds = (System.nanoTime() - start) / 1e9;
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(contentType + " import answered " + response.statusCode());
+        }
+        System.out.printf("import %-20s %-9s rows=%d seconds=%.1f rows/minute=%.0f%n",
+                contentType, ledger, ROWS, seconds, ROWS / seconds * 60);
+    }
+
+    private static byte[] file(String contentType) {
+        final boolean csv = contentType.equals("text/csv");
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final StringBuilder file = new StringBuilder(ROWS * 24);
+        if (csv) {
+            file.append("amount\n");
+        }
+        for (int row = 0; row < ROWS; row++) {
+            final String amount = random.nextInt(100_000) + "." + random.nextInt(10) + random.nextInt(10);
+            file.append(csv ? amount : "{\"amount\": " + amount + "}").append('\n');
+        }
+        return file.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
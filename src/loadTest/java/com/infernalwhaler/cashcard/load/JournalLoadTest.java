@@ -0,0 +1,70 @@
+package com.infernalwhaler.cashcard.load;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sustained PUT throughput and tail latency of the synchronous write path against the write-behind journal.
+ * Both run against a file-based H2 database, so the synchronous path pays a real commit per request while the
+ * journal pays one fsync per group commit. Every client updates its own card to keep row locks out of the picture.
+ * <p>
+ * {@code ./gradlew loadTest -Pscenario=JournalLoadTest -Pseconds=20}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class JournalLoadTest {
+
+    private static final int[] CLIENTS = {16, 64, 256};
+
+    public static void main(String[] args) throws Exception {
+        final Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 20);
+        final String authorization = LoadHarness.basicAuth("Sarah", "abc123");
+        final HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        for (boolean journal : new boolean[]{false, true}) {
+            final Path directory = Files.createTempDirectory("cashcard-journal-load");
+            try (ConfigurableApplicationContext context = LoadHarness.start(
+                    "--spring.datasource.url=jdbc:h2:file:" + directory.resolve("db") + ";DB_CLOSE_ON_EXIT=FALSE",
+                    "--spring.sql.init.mode=always",
+                    "--cashcard.journal.enabled=" + journal,
+                    "--cashcard.journal.directory=" + directory.resolve("journal"),
+                    "--spring.cache.type=none")) {
+                final URI baseUri = LoadHarness.baseUri(context);
+
+                final List<URI> cards = new ArrayList<>();
+                for (int card = 0; card < CLIENTS[CLIENTS.length - 1]; card++) {
+                    final HttpResponse<Void> created = httpClient.send(HttpRequest.newBuilder(baseUri.resolve("/cashcards"))
+                            .header("Authorization", authorization)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"amount\": 100.00}"))
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                    cards.add(baseUri.resolve(created.headers().firstValue("Location").orElseThrow()));
+                }
+
+                for (int clients : CLIENTS) {
+                    System.out.println(LoadHarness.run((journal ? "journal" : "synchronous") + "-put",
+                            httpClient, clients, Duration.ofSeconds(5), duration, client -> HttpRequest.newBuilder(cards.get(client))
+                                    .header("Authorization", authorization)
+                                    .header("Content-Type", "application/json")
+                                    .timeout(Duration.ofSeconds(30))
+                                    .PUT(HttpRequest.BodyPublishers.ofString("{\"amount\": " + (client + 1) + ".50}"))
+                                    .build()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.infernalwhaler.cashcard.load;
+
+import com.infernalwhaler.cashcard.CashCardApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Minimal closed-loop HTTP load generator: every client sends its next request as soon as the previous one returned.
+ * Scenarios start the application in-process with the properties under comparison and report throughput and tail latency.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public final class LoadHarness {
+
+    private LoadHarness() {
+    }
+
+    /**
+     * Starts the application on a random port with the given extra command line arguments.
+     */
+    public static ConfigurableApplicationContext start(String... args) {
+        final String[] allArgs = Arrays.copyOf(args, args.length + 1);
+        allArgs[args.length] = "--server.port=0";
+        return new SpringApplicationBuilder(CashCardApplication.class).run(allArgs);
+    }
+
+    public static URI baseUri(ConfigurableApplicationContext context) {
+        return URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    public static String basicAuth(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Runs {@code clients} concurrent clients for the warm-up and then for the measured duration.
+     *
+     * @param requests builds the request of a client, given its index.
+     */
+    public static Result run(String name, HttpClient httpClient, int clients, Duration warmUp, Duration duration,
+                             IntFunction<HttpRequest> requests) throws Exception {
+        drive(httpClient, clients, warmUp, requests);
+        return drive(httpClient, clients, duration, requests).named(name, clients, duration);
+    }
+
+    private static Result drive(HttpClient httpClient, int clients, Duration duration, IntFunction<HttpRequest> requests) throws Exception {
+        final long deadline = System.nanoTime() + duration.toNanos();
+        final List<Future<ClientStats>> futures = new ArrayList<>(clients);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                final HttpRequest request = requests.apply(client);
+                futures.add(executor.submit(() -> {
+                    final ClientStats stats = new ClientStats();
+                    while (System.nanoTime() < deadline) {
+                        final long start = System.nanoTime();
+                        try {
+                            final HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            stats.record(System.nanoTime() - start, response.statusCode() >= 400);
+                        } catch (Exception e) {
+                            stats.record(System.nanoTime() - start, true);
+                        }
+                    }
+                    return stats;
+                }));
+            }
+        }
+
+        final ClientStats total = new ClientStats();
+        for (Future<ClientStats> future : futures) {
+            total.merge(future.get());
+        }
+        return total.toResult();
+    }
+
+    public record Result(String name, int clients, long requests, long errors, double throughput,
+                         double p50Millis, double p99Millis, double p999Millis) {
+
+        Result named(String name, int clients, Duration duration) {
+            return new Result(name, clients, requests, errors, requests / (duration.toNanos() / 1e9),
+                    p50Millis, p99Millis, p999Millis);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-32s clients=%-6d requests=%-9d errors=%-6d rps=%-10.1f p50=%.2fms p99=%.2fms p999=%.2fms",
+                    name, clients, requests, errors, throughput, p50Millis, p99Millis, p999Millis);
+        }
+    }
+
+    private static final class ClientStats {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long latencyNanos, boolean error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void merge(ClientStats other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], false);
+            }
+            errors += other.errors;
+        }
+
+        Result toResult() {
+            final long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Result(null, 0, count, errors, 0, percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999));
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            final int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.infernalwhaler.cashcard.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.management.OperatingSystemMXBean;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Replays a polling workload: clients keep re-reading 100 cards and the first page of the list while a writer changes
+ * one card every 50ms. Runs once with plain GETs and once with If-None-Match, and reports bytes received
+ * and process CPU time per request for both.
+ * <p>
+ * {@code ./gradlew loadTest -Pscenario=PollingLoadTest -Pclients=64 -Pseconds=20}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class PollingLoadTest {
+
+    private static final int CARDS = 100;
+
+    public static void main(String[] args) throws Exception {
+        final int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        final Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 20);
+        final String authorization = LoadHarness.basicAuth("Sarah", "abc123");
+        final HttpClient httpClient = HttpClient.newHttpClient();
+
+        try (ConfigurableApplicationContext context = LoadHarness.start()) {
+            final URI baseUri = LoadHarness.baseUri(context);
+
+            final String creates = IntStream.range(0, CARDS)
+                    .mapToObj(i -> "{\"op\":\"CREATE\",\"amount\":10.00}")
+                    .collect(Collectors.joining(",", "[", "]"));
+            final String created = httpClient.send(HttpRequest.newBuilder(baseUri.resolve("/cashcards/batch"))
+                    .header("Authorization", authorization)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(creates))
+                    .build(), HttpResponse.BodyHandlers.ofString()).body();
+            final List<URI> cards = new ArrayList<>();
+            for (JsonNode result : new ObjectMapper().readTree(created)) {
+                cards.add(baseUri.resolve("/cashcards/" + result.get("id").asLong()));
+            }
+            final List<URI> polled = new ArrayList<>(cards);
+            polled.add(baseUri.resolve("/cashcards?size=20"));
+
+            for (boolean conditional : new boolean[]{false, true}) {
+                poll(httpClient, authorization, polled, cards, clients, Duration.ofSeconds(5), conditional);
+                System.out.println(poll(httpClient, authorization, polled, cards, clients, duration, conditional));
+            }
+        }
+    }
+
+    private static Result poll(HttpClient httpClient, String authorization, List<URI> polled, List<URI> cards,
+                               int clients, Duration duration, boolean conditional) throws Exception {
+        final OperatingSystemMXBean os = ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class);
+        final long deadline = System.nanoTime() + duration.toNanos();
+        final long cpuStart = os.getProcessCpuTime();
+        final List<Future<long[]>> futures = new ArrayList<>(clients);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    final URI card = cards.get(ThreadLocalRandom.current().nextInt(cards.size()));
+                    httpClient.send(HttpRequest.newBuilder(card)
+                            .header("Authorization", authorization)
+                            .header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofString("{\"amount\": " + ThreadLocalRandom.current().nextInt(1, 1000) + ".00}"))
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                    Thread.sleep(50);
+                }
+                return null;
+            });
+
+            for (int client = 0; client < clients; client++) {
+                final int offset = client;
+                futures.add(executor.submit(() -> {
+                    // requests, not-modified answers, body bytes received
+                    final long[] stats = new long[3];
+                    final Map<URI, String> eTags = new HashMap<>();
+
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        final URI uri = polled.get(i % polled.size());
+                        final HttpRequest.Builder request = HttpRequest.newBuilder(uri).header("Authorization", authorization).GET();
+                        if (conditional && eTags.containsKey(uri)) {
+                            request.header("If-None-Match", eTags.get(uri));
+                        }
+
+                        final HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                        response.headers().firstValue("ETag").ifPresent(eTag -> eTags.put(uri, eTag));
+                        stats[0]++;
+                        stats[1] += response.statusCode() == 304 ? 1 : 0;
+                        stats[2] += response.body().length;
+                    }
+                    return stats;
+                }));
+            }
+        }
+
+        final long[] total = new long[3];
+        for (Future<long[]> future : futures) {
+            final long[] stats = future.get();
+            for (int i = 0; i < total.length; i++) {
+                total[i] += stats[i];
+            }
+        }
+        return new Result(conditional ? "if-none-match" : "unconditional", total[0], total[1], total[2],
+                os.getProcessCpuTime() - cpuStart, duration);
+    }
+
+    record Result(String name, long requests, long notModified, long bytes, long cpuNanos, Duration duration) {
+
+        @Override
+        public String toString() {
+            return String.format("%-16s requests=%-9d rps=%-10.1f 304=%5.1f%% body-bytes/req=%-8.1f cpu-us/req=%.1f",
+                    name, requests, requests / (duration.toNanos() / 1e9), 100.0 * notModified / Math.max(1, requests),
+                    (double) bytes / Math.max(1, requests), cpuNanos / 1e3 / Math.max(1, requests));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.infernalwhaler.cashcard.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The servlet application, on platform and on virtual threads, against the WebFlux and R2DBC one, each in its own JVM
+ * with the same heap. Every client keeps one connection open and reads one card in a loop; alongside throughput and
+ * latency, the resident set size and thread count of the server process are sampled from /proc while the clients run,
+ * and the growth over the idle process is reported per connection.
+ * <p>
+ * The card cache is off, so every servlet request reaches JDBC as every reactive one reaches R2DBC.
+ * Raise {@code ulimit -n} above the largest client count first.
+ * <p>
+ * {@code ./gradlew reactiveBenchmark -Pclients=1000,10000 -Pseconds=20}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class ReactiveComparisonBenchmark {
+
+    private static final List<String> JVM_OPTIONS = List.of("-Xms1g", "-Xmx1g");
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(200);
+
+    /**
+     * @param args the java executable, the servlet boot jar, the reactive boot jar, the comma-separated client counts
+     *             and the seconds measured at each count.
+     */
+    public static void main(String[] args) throws Exception {
+        final String java = args[0];
+        final int[] clientCounts = Arrays.stream(args[3].split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        final Duration duration = Duration.ofSeconds(Long.parseLong(args[4]));
+        final int maxConnections = Arrays.stream(clientCounts).max().orElseThrow() + 1000;
+        final HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        measure("servlet-platform-threads", command(java, args[1],
+                "--spring.threads.virtual.enabled=false",
+                "--spring.cache.type=none",
+                "--server.tomcat.max-connections=" + maxConnections,
+                "--server.tomcat.accept-count=1000"), clientCounts, duration, httpClient);
+        measure("servlet-virtual-threads", command(java, args[1],
+                "--spring.threads.virtual.enabled=true",
+                "--spring.cache.type=none",
+                "--server.tomcat.max-connections=" + maxConnections,
+                "--server.tomcat.accept-count=1000"), clientCounts, duration, httpClient);
+        measure("reactive", command(java, args[2]), clientCounts, duration, httpClient);
+    }
+
+    private static List<String> command(String java, String jar, String... applicationArgs) {
+        final List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(JVM_OPTIONS);
+        command.addAll(List.of("-jar", jar, "--logging.level.root=WARN"));
+        command.addAll(List.of(applicationArgs));
+        return command;
+    }
+
+    private static void measure(String name, List<String> command, int[] clientCounts, Duration duration, HttpClient httpClient) throws Exception {
+        final int port = StartupBenchmark.freePort();
+        final URI baseUri = URI.create("http://localhost:" + port);
+        final List<String> arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+
+        final Process process = new ProcessBuilder(arguments)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            StartupBenchmark.awaitReady(httpClient, baseUri, process);
+            final HttpRequest read = createCard(httpClient, baseUri);
+
+            LoadHarness.run(name, httpClient, 1, WARM_UP, Duration.ofSeconds(1), client -> read);
+            final Status idle = Status.of(process.pid());
+            System.out.printf("%-32s idle rss=%dMB threads=%d%n", name, idle.rssKb() >> 10, idle.threads());
+
+            for (int clients : clientCounts) {
+                final AtomicLong peakRssKb = new AtomicLong();
+                final AtomicLong peakThreads = new AtomicLong();
+                final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+                sampler.scheduleAtFixedRate(() -> {
+                    final Status status = Status.of(process.pid());
+                    peakRssKb.accumulateAndGet(status.rssKb(), Math::max);
+                    peakThreads.accumulateAndGet(status.threads(), Math::max);
+                }, 0, SAMPLE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+
+                final LoadHarness.Result result;
+                try {
+                    result = LoadHarness.run(name, httpClient, clients, WARM_UP, duration, client -> read);
+                } finally {
+                    sampler.shutdownNow();
+                }
+                System.out.println(result);
+                System.out.printf("%-32s clients=%-6d peak rss=%dMB threads=%d rss/connection=%.1fKB%n",
+                        name, clients, peakRssKb.get() >> 10, peakThreads.get(),
+                        (double) (peakRssKb.get() - idle.rssKb()) / clients);
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static HttpRequest createCard(HttpClient httpClient, URI baseUri) throws Exception {
+        final String authorization = LoadHarness.basicAuth("Sarah", "abc123");
+        final HttpResponse<Void> created = httpClient.send(HttpRequest.newBuilder(baseUri.resolve("/cashcards"))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"amount\": 123.45}"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        if (created.statusCode() != 201) {
+            throw new IllegalStateException("POST /cashcards answered " + created.statusCode());
+        }
+        return HttpRequest.newBuilder(baseUri.resolve(created.headers().firstValue("Location").orElseThrow()))
+                .header("Authorization", authorization)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    /**
+     * The VmRSS and Threads lines of /proc/&lt;pid&gt;/status, zero where they cannot be read.
+     */
+    private record Status(long rssKb, long threads) {
+
+        static Status of(long pid) {
+            try {
+                long rssKb = 0;
+                long threads = 0;
+                for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                    if (line.startsWith("VmRSS:")) {
+                        rssKb = Long.parseLong(line.replaceAll("\\D", ""));
+                    } else if (line.startsWith("Threads:")) {
+                        threads = Long.parseLong(line.replaceAll("\\D", ""));
+                    }
+                }
+                return new Status(rssKb, threads);
+            } catch (IOException | NumberFormatException e) {
+                return new Status(0, 0);
+            }
+        }
+    }
+}
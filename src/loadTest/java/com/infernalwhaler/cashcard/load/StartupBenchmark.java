@@ -0,0 +1,123 @@
+package com.infernalwhaler.cashcard.load;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to ready and first request latency of the plain boot jar against the extracted jar started with its class data
+ * sharing archive, and with AOT initialization when it was built with {@code -Paot}. Every run is a fresh JVM: ready is
+ * the first 200 from /actuator/health after the process was spawned, the first request is Sarah's first GET /cashcards.
+ * <p>
+ * {@code ./gradlew startupBenchmark -Paot -Pruns=10}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    /**
+     * @param args the java executable, the boot jar, the extracted jar, its archive, whether it was built with AOT and the number of runs.
+     */
+    public static void main(String[] args) throws Exception {
+        final String java = args[0];
+        final boolean aot = Boolean.parseBoolean(args[4]);
+        final int runs = Integer.parseInt(args[5]);
+        final HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+
+        final List<String> optimized = new ArrayList<>(List.of(java, "-XX:SharedArchiveFile=" + args[3]));
+        if (aot) {
+            optimized.add("-Dspring.aot.enabled=true");
+        }
+        optimized.addAll(List.of("-jar", args[2]));
+
+        System.out.println(measure("default", List.of(java, "-jar", args[1]), runs, httpClient));
+        System.out.println(measure(aot ? "aot+cds" : "cds", optimized, runs, httpClient));
+    }
+
+    private static String measure(String name, List<String> command, int runs, HttpClient httpClient) throws Exception {
+        final long[] ready = new long[runs];
+        final long[] firstRequest = new long[runs];
+
+        for (int run = 0; run < runs; run++) {
+            final int port = freePort();
+            final URI baseUri = URI.create("http://localhost:" + port);
+            final List<String> arguments = new ArrayList<>(command);
+            arguments.addAll(List.of("--server.port=" + port, "--logging.level.root=WARN"));
+
+            final long start = System.nanoTime();
+            final Process process = new ProcessBuilder(arguments)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            try {
+                awaitReady(httpClient, baseUri, process);
+                ready[run] = System.nanoTime() - start;
+
+                final long requestStart = System.nanoTime();
+                final HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(baseUri.resolve("/cashcards"))
+                        .header("Authorization", LoadHarness.basicAuth("Sarah", "abc123"))
+                        .build(), HttpResponse.BodyHandlers.discarding());
+                firstRequest[run] = System.nanoTime() - requestStart;
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException(name + ": GET /cashcards answered " + response.statusCode());
+                }
+            } finally {
+                process.destroy();
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            }
+        }
+
+        return String.format("%-8s runs=%d ready median=%dms min=%dms first-request median=%.1fms min=%.1fms",
+                name, runs, median(ready) / 1_000_000, Arrays.stream(ready).min().orElseThrow() / 1_000_000,
+                median(firstRequest) / 1e6, Arrays.stream(firstRequest).min().orElseThrow() / 1e6);
+    }
+
+    static void awaitReady(HttpClient httpClient, URI baseUri, Process process) throws Exception {
+        final long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        final HttpRequest health = HttpRequest.newBuilder(baseUri.resolve("/actuator/health")).build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + " before it was ready");
+            }
+            try {
+                if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("Application not ready after " + STARTUP_TIMEOUT);
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        final long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,189 @@
+package com.infernalwhaler.cashcard.load;
+
+import com.infernalwhaler.cashcard.stream.CashCardEventBus;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opens 50k GET /cashcards/stream subscribers (the clients argument), keeps them idle for the duration while
+ * reporting threads and heap, then times how long ten updates take to reach every one of them.
+ * <p>
+ * Client and server share the process, so both the descriptor limit and the heap figure count each connection twice:
+ * run with {@code ulimit -n 200000}. Connections are spread over four loopback addresses, since one address pair
+ * has fewer ephemeral ports than subscribers.
+ * <p>
+ * {@code ./gradlew loadTest -Pscenario=StreamLoadTest -Pclients=50000 -Pseconds=60}
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class StreamLoadTest {
+
+    private static final int ADDRESSES = 4;
+    private static final int CONNECTING = 1000;
+    private static final int WRITES = 10;
+
+    public static void main(String[] args) throws Exception {
+        final int subscribers = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        final Duration idle = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 60);
+        final String authorization = LoadHarness.basicAuth("Sarah", "abc123");
+
+        try (ConfigurableApplicationContext context = LoadHarness.start("--server.tomcat.max-connections=" + (subscribers + 1000))) {
+            final URI baseUri = LoadHarness.baseUri(context);
+            final String port = context.getEnvironment().getProperty("local.server.port");
+            final CashCardEventBus eventBus = context.getBean(CashCardEventBus.class);
+            final HttpClient[] httpClients = new HttpClient[ADDRESSES];
+            for (int address = 0; address < ADDRESSES; address++) {
+                httpClients[address] = HttpClient.newHttpClient();
+            }
+            printMemory("before", eventBus);
+
+            final long[] writeStarts = new long[WRITES];
+            final long[] latencies = new long[subscribers * WRITES];
+            Arrays.fill(latencies, -1);
+            final Semaphore connecting = new Semaphore(CONNECTING);
+            final CountDownLatch connected = new CountDownLatch(subscribers);
+            final AtomicInteger failed = new AtomicInteger();
+
+            final long openStart = System.nanoTime();
+            for (int subscriber = 0; subscriber < subscribers; subscriber++) {
+                connecting.acquire();
+                final URI stream = URI.create("http://127.0.0." + (1 + subscriber % ADDRESSES) + ":" + port + "/cashcards/stream");
+                final Listener listener = new Listener(subscriber, writeStarts, latencies, connecting, connected, failed);
+                httpClients[subscriber % ADDRESSES].sendAsync(HttpRequest.newBuilder(stream)
+                        .header("Authorization", authorization)
+                        .header("Accept", "text/event-stream")
+                        .build(), HttpResponse.BodyHandlers.fromLineSubscriber(listener))
+                        .exceptionally(error -> {
+                            listener.onError(error);
+                            return null;
+                        });
+            }
+            if (!connected.await(5, TimeUnit.MINUTES)) {
+                throw new IllegalStateException(connected.getCount() + " subscribers still connecting");
+            }
+            System.out.printf("opened subscribers=%d failed=%d seconds=%.1f%n",
+                    subscribers - failed.get(), failed.get(), (System.nanoTime() - openStart) / 1e9);
+
+            final long idleEnd = System.nanoTime() + idle.toNanos();
+            while (System.nanoTime() < idleEnd) {
+                printMemory("idle", eventBus);
+                Thread.sleep(Math.min(10_000, Math.max(1, (idleEnd - System.nanoTime()) / 1_000_000)));
+            }
+
+            final HttpClient writer = HttpClient.newHttpClient();
+            for (int write = 0; write < WRITES; write++) {
+                writeStarts[write] = System.nanoTime();
+                writer.send(HttpRequest.newBuilder(baseUri.resolve("/cashcards/99"))
+                        .header("Authorization", authorization)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"amount\": " + (write + 1) + ".00}"))
+                        .build(), HttpResponse.BodyHandlers.discarding());
+                Thread.sleep(1000);
+            }
+            Thread.sleep(5000);
+            printFanOut(latencies, subscribers - failed.get(), eventBus);
+        }
+    }
+
+    private static void printMemory(String phase, CashCardEventBus eventBus) {
+        System.gc();
+        final long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        System.out.printf("%-7s server-subscribers=%-7d threads=%-5d heap-used=%dMB heap/subscriber=%dB%n",
+                phase, eventBus.subscribers(), ManagementFactory.getThreadMXBean().getThreadCount(), heap >> 20,
+                heap / Math.max(1, eventBus.subscribers()));
+    }
+
+    private static void printFanOut(long[] latencies, int subscribers, CashCardEventBus eventBus) {
+        final long[] delivered = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+        System.out.printf("fan-out writes=%d delivered=%d/%d dropped=%d p50=%.1fms p99=%.1fms max=%.1fms%n",
+                WRITES, delivered.length, (long) subscribers * WRITES, eventBus.dropped(),
+                percentile(delivered, 0.50), percentile(delivered, 0.99), percentile(delivered, 1.0));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * Counts the updates a subscriber receives: the n-th one answers the n-th write, since a subscriber gets its events in order.
+     */
+    private static final class Listener implements Flow.Subscriber<String> {
+
+        private final int subscriber;
+        private final long[] writeStarts;
+        private final long[] latencies;
+        private final Semaphore connecting;
+        private final CountDownLatch connected;
+        private final AtomicInteger failed;
+        private final AtomicBoolean open = new AtomicBoolean();
+        private int updates;
+
+        Listener(int subscriber, long[] writeStarts, long[] latencies, Semaphore connecting, CountDownLatch connected, AtomicInteger failed) {
+            this.subscriber = subscriber;
+            this.writeStarts = writeStarts;
+            this.latencies = latencies;
+            this.connecting = connecting;
+            this.connected = connected;
+            this.failed = failed;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("retry:")) {
+                opened();
+            } else if (line.equals("event:updated") && updates < WRITES) {
+                latencies[subscriber * WRITES + updates] = System.nanoTime() - writeStarts[updates];
+                updates++;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (opened()) {
+                failed.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            onError(null);
+        }
+
+        /**
+         * @return false when the subscriber had already connected or failed.
+         */
+        private boolean opened() {
+            if (!open.compareAndSet(false, true)) {
+                return false;
+            }
+            connecting.release();
+            connected.countDown();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.infernalwhaler.cashcard.load;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Compares the platform thread pool with virtual threads at 100, 1k and 10k concurrent clients.
+ * The card cache is off so every request reaches JDBC, which is where the two modes differ.
+ * <p>
+ * {@code ./gradlew loadTest -Pscenario=VirtualThreadLoadTest -Pseconds=20 [-PtracePinning]}
+ * <p>
+ * 10k clients need as many open sockets on both sides, raise {@code ulimit -n} first.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class VirtualThreadLoadTest {
+
+    private static final int[] CLIENTS = {100, 1_000, 10_000};
+
+    public static void main(String[] args) throws Exception {
+        final Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 20);
+        final String authorization = LoadHarness.basicAuth("Sarah", "abc123");
+        final HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = LoadHarness.start(
+                    "--spring.threads.virtual.enabled=" + virtualThreads,
+                    "--spring.cache.type=none",
+                    "--server.tomcat.max-connections=20000",
+                    "--server.tomcat.accept-count=1000")) {
+                final URI baseUri = LoadHarness.baseUri(context);
+
+                final HttpResponse<Void> created = httpClient.send(HttpRequest.newBuilder(baseUri.resolve("/cashcards"))
+                        .header("Authorization", authorization)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"amount\": 123.45}"))
+                        .build(), HttpResponse.BodyHandlers.discarding());
+                final HttpRequest read = HttpRequest.newBuilder(baseUri.resolve(created.headers().firstValue("Location").orElseThrow()))
+                        .header("Authorization", authorization)
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build();
+
+                for (int clients : CLIENTS) {
+                    System.out.println(LoadHarness.run((virtualThreads ? "virtual" : "platform") + "-threads",
+                            httpClient, clients, Duration.ofSeconds(5), duration, client -> read));
+                }
+            }
+        }
+    }
+}
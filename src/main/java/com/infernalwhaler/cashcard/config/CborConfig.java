@@ -0,0 +1,27 @@
+package com.infernalwhaler.cashcard.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * CBOR as an alternative to JSON for every Jackson-mapped request and response body: a client opts in with
+ * {@code Accept: application/cbor} or {@code Content-Type: application/cbor}, JSON stays the default.
+ * <p>
+ * Built from Spring Boot's mapper builder, so both formats share the same model annotations and settings.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@Configuration
+public class CborConfig {
+
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,66 @@
+package com.infernalwhaler.cashcard.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides when the application is overloaded from how long requests wait for a JDBC connection.
+ * <p>
+ * Only a standing queue counts: the application is overloaded for an interval when even the shortest wait of the
+ * interval before it exceeded the target. Bursts that drain within an interval leave at least one short wait behind
+ * and never trip it, and an interval without any wait, e.g. because everything was shed, clears it.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class LoadShedder {
+
+    private static final long NO_WAIT = Long.MAX_VALUE;
+
+    private final long targetNanos;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong intervalStart;
+    private final AtomicLong shortestWait = new AtomicLong(NO_WAIT);
+    private volatile boolean overloaded;
+
+    /**
+     * @param nanoClock {@link System#nanoTime()} outside tests.
+     */
+    public LoadShedder(Duration target, Duration interval, LongSupplier nanoClock) {
+        this.targetNanos = target.toNanos();
+        this.intervalNanos = interval.toNanos();
+        this.nanoClock = nanoClock;
+        this.intervalStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public void recordPoolWait(long nanos) {
+        roll();
+        shortestWait.accumulateAndGet(nanos, Math::min);
+    }
+
+    public boolean isOverloaded() {
+        roll();
+        return overloaded;
+    }
+
+    /**
+     * @return when to come back, the end of the current interval at the latest.
+     */
+    public Duration retryAfter() {
+        return Duration.ofNanos(intervalNanos);
+    }
+
+    private void roll() {
+        final long now = nanoClock.getAsLong();
+        final long start = intervalStart.get();
+        if (now - start >= intervalNanos && intervalStart.compareAndSet(start, now)) {
+            final long shortest = shortestWait.getAndSet(NO_WAIT);
+            overloaded = shortest != NO_WAIT && shortest > targetNanos;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.infernalwhaler.cashcard.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Adaptive load shedding, only installed with {@code cashcard.load-shedding.enabled=true}: requests are turned away
+ * with 503 while connections take longer than the target to obtain, see {@link LoadShedder}.
+ * <p>
+ * The connection wait is where a saturated database or pool shows first, and with virtual threads it also covers the
+ * wait for a JDBC permit, since the timing wraps the permits, see {@link OrderedBeanPostProcessor}. Tomcat's own accept
+ * queue is not visible from a filter.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@Configuration
+@ConditionalOnProperty(prefix = "cashcard.load-shedding", name = "enabled", havingValue = "true")
+public class LoadSheddingConfig {
+
+    @Bean
+    LoadShedder loadShedder(@Value("${cashcard.load-shedding.target:50ms}") Duration target,
+                            @Value("${cashcard.load-shedding.interval:500ms}") Duration interval) {
+        return new LoadShedder(target, interval, System::nanoTime);
+    }
+
+    /**
+     * Outermost DataSource wrapper, see {@link OrderedBeanPostProcessor}.
+     */
+    @Bean
+    static OrderedBeanPostProcessor poolWaitTiming(ObjectProvider<LoadShedder> loadShedder) {
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public int getOrder() {
+                return POOL_WAIT_TIMING;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof PoolWaitTimingDataSource)) {
+                    return new PoolWaitTimingDataSource(dataSource, loadShedder.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Right after the slow-request log, ahead of the security filter chain.
+     */
+    @Bean
+    FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(LoadShedder loadShedder) {
+        final FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(new LoadSheddingFilter(loadShedder));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,41 @@
+package com.infernalwhaler.cashcard.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Answers 503 SERVICE_UNAVAILABLE with a Retry-After while the {@link LoadShedder} reports an overload, before
+ * authentication spends any time on the request. Actuator endpoints are never shed, so health checks and metrics
+ * keep answering during the overload they are meant to show.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final LoadShedder loadShedder;
+
+    public LoadSheddingFilter(LoadShedder loadShedder) {
+        this.loadShedder = loadShedder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (loadShedder.isOverloaded() && !request.getRequestURI().startsWith(request.getContextPath() + "/actuator/")) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, loadShedder.retryAfter().toSeconds())));
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
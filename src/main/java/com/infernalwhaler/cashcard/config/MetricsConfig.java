@@ -0,0 +1,89 @@
+package com.infernalwhaler.cashcard.config;
+
+import com.infernalwhaler.cashcard.security.CredentialCache;
+import com.infernalwhaler.cashcard.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Instrumentation on top of what Spring Boot already measures: JDBC statements per request with a slow-request log,
+ * password verification time and credential cache statistics.
+ * <p>
+ * Endpoint latency ({@code http.server.requests}), repository methods ({@code spring.data.repository.invocations}),
+ * authentication ({@code spring.security.authentications}) and pool wait ({@code hikaricp.connections.acquire})
+ * come from Spring Boot, their percentiles are set in application.properties.
+ * With {@code cashcard.metrics.enabled=false} none of the wrappers below are installed.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@Configuration
+@ConditionalOnProperty(prefix = "cashcard.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    @Bean
+    static OrderedBeanPostProcessor metricsInstrumentation(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public int getOrder() {
+                return STATEMENT_TIMING;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementTimingDataSource)) {
+                    return new StatementTimingDataSource(dataSource, meterRegistry.getObject());
+                }
+                if (bean instanceof PasswordEncoder passwordEncoder && !(bean instanceof TimedPasswordEncoder)) {
+                    return new TimedPasswordEncoder(passwordEncoder, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<SlowRequestFilter> slowRequestFilter(MeterRegistry meterRegistry,
+                                                                @Value("${cashcard.metrics.slow-request-threshold:500ms}") Duration threshold) {
+        final FilterRegistrationBean<SlowRequestFilter> registration =
+                new FilterRegistrationBean<>(new SlowRequestFilter(meterRegistry, threshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Publishes the credential cache under the same cache.* meters as the card cache, tagged cache=credentials.
+     */
+    @Bean
+    MeterBinder credentialCacheMetrics(CredentialCache credentialCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", credentialCache, cache -> cache.stats().hits())
+                    .tags("cache", "credentials", "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", credentialCache, cache -> cache.stats().misses())
+                    .tags("cache", "credentials", "result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", credentialCache, cache -> cache.stats().evictions())
+                    .tags("cache", "credentials")
+                    .register(registry);
+            Gauge.builder("cache.size", credentialCache, cache -> cache.stats().size())
+                    .tags("cache", "credentials")
+                    .register(registry);
+        };
+    }
+}
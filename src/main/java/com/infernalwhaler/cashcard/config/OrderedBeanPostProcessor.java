@@ -0,0 +1,25 @@
+package com.infernalwhaler.cashcard.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/**
+ * A {@link BeanPostProcessor} Spring applies in a known order. The ones wrapping the DataSource need it: each wraps
+ * what the earlier ones returned, so without an order their nesting would follow the names of their configurations.
+ * <p>
+ * From the outside in: the pool wait reported to the {@link LoadShedder}, which has to cover the wait for a JDBC
+ * permit as well as the wait inside the pool, then the JDBC permits, then statement timing around the pool itself.
+ * The return type of the {@code @Bean} method has to be this interface, Spring orders post-processors by their
+ * declared type before creating them.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+interface OrderedBeanPostProcessor extends BeanPostProcessor, Ordered {
+
+    int STATEMENT_TIMING = Ordered.LOWEST_PRECEDENCE - 2;
+    int JDBC_PERMITS = Ordered.LOWEST_PRECEDENCE - 1;
+    int POOL_WAIT_TIMING = Ordered.LOWEST_PRECEDENCE;
+}
@@ -0,0 +1,45 @@
+package com.infernalwhaler.cashcard.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Reports to the {@link LoadShedder} how long each connection took to obtain.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class PoolWaitTimingDataSource extends DelegatingDataSource {
+
+    private final LoadShedder loadShedder;
+
+    public PoolWaitTimingDataSource(DataSource target, LoadShedder loadShedder) {
+        super(target);
+        this.loadShedder = loadShedder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.getConnection();
+        } finally {
+            loadShedder.recordPoolWait(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.getConnection(username, password);
+        } finally {
+            loadShedder.recordPoolWait(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.infernalwhaler.cashcard.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The JDBC statements issued by the current thread while a request is being served, in order.
+ * Recording only happens between {@link #start()} and {@link #stop()}, statements outside a request are not kept.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+final class QueryLog {
+
+    private static final ThreadLocal<List<Query>> CURRENT = new ThreadLocal<>();
+
+    private QueryLog() {
+    }
+
+    static void start() {
+        CURRENT.set(new ArrayList<>());
+    }
+
+    static List<Query> stop() {
+        final List<Query> queries = CURRENT.get();
+        CURRENT.remove();
+        return queries == null ? List.of() : queries;
+    }
+
+    static void record(String sql, long nanos) {
+        final List<Query> queries = CURRENT.get();
+        if (queries != null) {
+            queries.add(new Query(sql, nanos));
+        }
+    }
+
+    record Query(String sql, long nanos) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.infernalwhaler.cashcard.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces Spring Boot's script initializer with {@link SkippingSchemaInitializer} unless
+ * {@code cashcard.schema.skip-if-present=false}. The spring.sql.init.* properties keep their meaning.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@Configuration
+@ConditionalOnProperty(prefix = "cashcard.schema", name = "skip-if-present", havingValue = "true", matchIfMissing = true)
+public class SchemaInitializationConfig {
+
+    @Bean
+    SqlDataSourceScriptDatabaseInitializer dataSourceScriptDatabaseInitializer(DataSource dataSource, Environment environment) {
+        final SqlInitializationProperties properties = Binder.get(environment)
+                .bind("spring.sql.init", SqlInitializationProperties.class)
+                .orElseGet(SqlInitializationProperties::new);
+        return new SkippingSchemaInitializer(dataSource, properties);
+    }
+}
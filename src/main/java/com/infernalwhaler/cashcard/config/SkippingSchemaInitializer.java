@@ -0,0 +1,44 @@
+package com.infernalwhaler.cashcard.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Spring Boot's schema.sql / data.sql initializer, skipped as a whole when cash_card already exists.
+ * <p>
+ * A persistent database is then started without re-running, and failing on, every CREATE statement, and an
+ * in-memory one, which never has the table yet, is initialized exactly as before. Changing an existing schema
+ * is left to a migration, not to schema.sql.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class SkippingSchemaInitializer extends SqlDataSourceScriptDatabaseInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(SkippingSchemaInitializer.class);
+
+    private static final String SCHEMA_EXISTS = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'CASH_CARD'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SkippingSchemaInitializer(DataSource dataSource, SqlInitializationProperties properties) {
+        super(dataSource, properties);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public boolean initializeDatabase() {
+        if (jdbcTemplate.queryForObject(SCHEMA_EXISTS, Integer.class) > 0) {
+            log.debug("cash_card already exists, skipping schema and data scripts");
+            return false;
+        }
+        return super.initializeDatabase();
+    }
+}
@@ -0,0 +1,77 @@
+package com.infernalwhaler.cashcard.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the JDBC statements of each request. Their count goes to {@code cashcard.http.queries}, tagged like
+ * {@code http.server.requests}, and a request slower than the threshold is logged with its whole query sequence.
+ * <p>
+ * Registered ahead of the security filter chain, so authentication time is part of the measured request.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class SlowRequestFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowRequestFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long thresholdNanos;
+
+    public SlowRequestFilter(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final long start = System.nanoTime();
+        QueryLog.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            final List<QueryLog.Query> queries = QueryLog.stop();
+            final long nanos = System.nanoTime() - start;
+            final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            final String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+            DistributionSummary.builder("cashcard.http.queries")
+                    .description("JDBC statements issued per request")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .record(queries.size());
+
+            if (nanos >= thresholdNanos) {
+                log.warn("Slow request {} {} ({}) took {} ms, status {}, {} queries:{}", request.getMethod(), request.getRequestURI(), uri,
+                        TimeUnit.NANOSECONDS.toMillis(nanos), response.getStatus(), queries.size(), describe(queries));
+            }
+        }
+    }
+
+    private static String describe(List<QueryLog.Query> queries) {
+        final StringBuilder description = new StringBuilder();
+        for (QueryLog.Query query : queries) {
+            description.append(System.lineSeparator())
+                    .append(String.format("  %8.3f ms  ", query.nanos() / 1e6))
+                    .append(query.sql().strip().replaceAll("\\s+", " "));
+        }
+        return description.toString();
+    }
+}
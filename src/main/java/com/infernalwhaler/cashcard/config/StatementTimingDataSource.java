@@ -0,0 +1,96 @@
+package com.infernalwhaler.cashcard.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every JDBC statement execution into {@code cashcard.jdbc.statements} and appends it to the {@link QueryLog}
+ * of the current request.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class StatementTimingDataSource extends DelegatingDataSource {
+
+    private final Timer statements;
+
+    public StatementTimingDataSource(DataSource target, MeterRegistry meterRegistry) {
+        super(target);
+        this.statements = Timer.builder("cashcard.jdbc.statements")
+                .description("Execution time of JDBC statements")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timing(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timing(super.getConnection(username, password));
+    }
+
+    private Connection timing(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            final Object result = invoke(method, connection, args);
+            if (result instanceof PreparedStatement statement) {
+                final String sql = (String) args[0];
+                return proxy(method.getReturnType(), statement, (statementMethod, statementArgs) ->
+                        statementMethod.getName().startsWith("execute")
+                                ? timed(sql, statementMethod, statement, statementArgs)
+                                : invoke(statementMethod, statement, statementArgs));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement, (statementMethod, statementArgs) ->
+                        statementMethod.getName().startsWith("execute") && statementArgs != null && statementArgs.length > 0
+                                ? timed((String) statementArgs[0], statementMethod, statement, statementArgs)
+                                : invoke(statementMethod, statement, statementArgs));
+            }
+            return result;
+        });
+    }
+
+    private Object timed(String sql, Method method, Object target, Object[] args) throws Throwable {
+        final long start = System.nanoTime();
+        try {
+            return invoke(method, target, args);
+        } finally {
+            final long nanos = System.nanoTime() - start;
+            statements.record(nanos, TimeUnit.NANOSECONDS);
+            QueryLog.record(sql, nanos);
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Object target, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(method, args));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+}
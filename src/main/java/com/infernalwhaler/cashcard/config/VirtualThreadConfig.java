@@ -0,0 +1,51 @@
+package com.infernalwhaler.cashcard.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Extra wiring for the virtual-thread mode ({@code spring.threads.virtual.enabled=true}).
+ * <p>
+ * Spring Boot already moves Tomcat, MVC async and scheduling onto virtual threads. What it cannot know is that
+ * the JDBC data path pins carriers, see {@link ConcurrencyLimitingDataSource}.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * @implNote Defaults to one less than the number of carrier threads, and never more than the pool size:
+     * past that point threads would only queue inside the pool.
+     */
+    @Bean
+    static OrderedBeanPostProcessor jdbcPinningGuard(Environment environment) {
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public int getOrder() {
+                return JDBC_PERMITS;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitingDataSource) {
+                    return bean;
+                }
+                final int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                        Runtime.getRuntime().availableProcessors());
+                final int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                final int maxConcurrency = environment.getProperty("cashcard.jdbc.max-concurrency", Integer.class,
+                        Math.max(1, Math.min(poolSize, carriers - 1)));
+                return new ConcurrencyLimitingDataSource(dataSource, maxConcurrency);
+            }
+        };
+    }
+}
@@ -1,18 +1,50 @@
 package com.infernalwhaler.cashcard.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.infernalwhaler.cashcard.journal.JournalEntry;
+import com.infernalwhaler.cashcard.journal.WriteJournal;
 import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.model.CashCardCursor;
+import com.infernalwhaler.cashcard.model.CashCardEvent;
+import com.infernalwhaler.cashcard.model.CashCardImportFormat;
+import com.infernalwhaler.cashcard.model.CashCardImportResult;
+import com.infernalwhaler.cashcard.model.CashCardLedgerCursor;
+import com.infernalwhaler.cashcard.model.CashCardLedgerEntry;
+import com.infernalwhaler.cashcard.model.CashCardOperation;
+import com.infernalwhaler.cashcard.model.CashCardOperationResult;
+import com.infernalwhaler.cashcard.model.CashCardSummary;
 import com.infernalwhaler.cashcard.repository.CashCardRepository;
-import org.springframework.data.domain.Page;
+import com.infernalwhaler.cashcard.stream.CashCardEventBus;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * @author Sdeseure
@@ -24,43 +56,237 @@ import java.util.List;
 @RequestMapping("/cashcards")
 public class CashCardController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    // the width of cash_card_import.id
+    private static final int MAX_IMPORT_ID_LENGTH = 64;
+
     private final CashCardRepository cashCardRepository;
+    private final ObjectWriter cashCardWriter;
+    private final WriteJournal writeJournal;
+    private final Duration journalCatchUpTimeout;
+    private final CashCardEventBus eventBus;
 
-    public CashCardController(CashCardRepository cashCardRepository) {
+    public CashCardController(CashCardRepository cashCardRepository, ObjectMapper objectMapper,
+                              ObjectProvider<WriteJournal> writeJournal, ObjectProvider<CashCardEventBus> eventBus,
+                              @Value("${cashcard.journal.catch-up-timeout:5s}") Duration journalCatchUpTimeout) {
         this.cashCardRepository = cashCardRepository;
+        this.cashCardWriter = objectMapper.writerFor(CashCard.class);
+        this.writeJournal = writeJournal.getIfAvailable();
+        this.journalCatchUpTimeout = journalCatchUpTimeout;
+        this.eventBus = eventBus.getIfAvailable();
     }
 
     /**
      * @param requestedId @PathVariable makes Spring Web aware of the requestedId supplied in the HTTP request.
      *                    GET requests that match cashcards/{requestedID} will be handled by this method.
+     * @param ifNoneMatch entity tags the client already holds, answered with 304 NOT_MODIFIED when the card still carries one.
+     * @param asOf        an instant in the past, the card is then returned with the balance it had at that time.
      * @param principal   holds our user's authenticated, authorized information.
      * @apiNote @GetMapping("/{requestedId}") marks the method as a handler method.
+     * @implNote A single owner-scoped query: an unknown id and a card owned by someone else both come back as null.
+     * A conditional request first reads the version alone, so an unchanged card is neither fetched nor serialized.
+     * A point-in-time read is one seek in the ledger, it bypasses the cache.
      */
     @GetMapping("/{requestedId}")
-    private ResponseEntity<CashCard> findById(@PathVariable Long requestedId, Principal principal) {
+    private ResponseEntity<CashCard> findById(@PathVariable Long requestedId,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch,
+                                              @RequestParam(required = false) Instant asOf,
+                                              Principal principal) {
+        awaitJournal(principal);
+        if (asOf != null) {
+            final CashCard cashCard = cashCardRepository.findByIdAndOwnerAsOf(requestedId, principal.getName(), asOf);
+            return cashCard == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(cashCard);
+        }
+        if (ifNoneMatch != null) {
+            final Long version = cashCardRepository.findVersionByIdAndOwner(requestedId, principal.getName());
+            if (version == null) {
+                return ResponseEntity.notFound().build();
+            }
+            if (ETags.noneMatchHit(ifNoneMatch, ETags.of(version))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version)).build();
+            }
+        }
+
         final CashCard cashCard = cashCardRepository.findByIdAndOwner(requestedId, principal.getName());
 
-        if (!cashCardRepository.existsByIdAndOwner(requestedId, principal.getName())) {
+        if (cashCard == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(cashCard);
+        return ResponseEntity.ok().eTag(ETags.of(cashCard)).body(cashCard);
+    }
+
+    /**
+     * @param from      first instant included, the start of the history when absent.
+     * @param to        first instant excluded, now when absent.
+     * @param cursor    opaque continuation token from the X-Next-Cursor header.
+     * @param pageable  only its size is used, entries always come in the order they were recorded.
+     * @param principal holds our user's authenticated, authorized information.
+     * @return the balance changes of the card, deletion included, 404 NOT_FOUND when the caller never owned it.
+     * @implNote Read from the ledger written in the same transaction as every change, seeking past the cursor.
+     */
+    @GetMapping("/{requestedId}/history")
+    private ResponseEntity<List<CashCardLedgerEntry>> findHistory(@PathVariable Long requestedId,
+                                                                  @RequestParam(required = false) Instant from,
+                                                                  @RequestParam(required = false) Instant to,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  Pageable pageable,
+                                                                  Principal principal) {
+        awaitJournal(principal);
+        final CashCardLedgerCursor after;
+        try {
+            after = cursor == null || cursor.isEmpty() ? null : CashCardLedgerCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        final Slice<CashCardLedgerEntry> history = cashCardRepository.findHistory(requestedId, principal.getName(), from, to, after, pageable.getPageSize());
+        if (history == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (history.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, CashCardLedgerCursor.after(history.getContent().get(history.getNumberOfElements() - 1)).encode());
+        }
+        return response.body(history.getContent());
     }
 
     /**
-     * @param pageable  Since the URI parameters specify page=0&size=1, pageable will contain the values we need.
      * @param principal holds our user's authenticated, authorized information.
+     * @return the card count, total, lowest and highest balance of the caller's cards.
+     * @implNote Served from the per-owner aggregate kept by a trigger on every write, a primary key read
+     * whatever the size of the portfolio.
+     */
+    @GetMapping("/summary")
+    private ResponseEntity<CashCardSummary> findSummary(Principal principal) {
+        awaitJournal(principal);
+        return ResponseEntity.ok(cashCardRepository.findSummaryByOwner(principal.getName()));
+    }
+
+    /**
+     * @param pageable  Since the URI parameters specify page=0&size=1, pageable will contain the values we need.
+     * @param cursor      opaque continuation token from the X-Next-Cursor header, an empty value starts at the first page.
+     * @param ifNoneMatch entity tags the client already holds, answered with 304 NOT_MODIFIED when the page is unchanged.
+     * @param principal   holds our user's authenticated, authorized information.
      * @apiNote PageRequest.of() is a basic Java Bean implementation of Pageable.
+     * With a cursor the page is read by seeking past the last (amount, id) returned instead of using OFFSET,
+     * so deep pages cost the same as the first one. Cursor mode always sorts by amount then id.
      */
     @GetMapping
-    private ResponseEntity<List<CashCard>> findAll(Pageable pageable, Principal principal) {
-        final Page<CashCard> page = cashCardRepository.findByOwner(
+    private ResponseEntity<List<CashCard>> findAll(Pageable pageable,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch,
+                                                   Principal principal) {
+        awaitJournal(principal);
+        if (cursor != null) {
+            return findAllAfter(cursor, pageable, ifNoneMatch, principal);
+        }
+
+        final Slice<CashCard> page = cashCardRepository.findByOwner(
                 principal.getName(),
                 PageRequest.of(
                         pageable.getPageNumber(),
                         pageable.getPageSize(),
                         pageable.getSortOr(Sort.by(Sort.Direction.ASC, "amount"))
                 ));
-        return ResponseEntity.ok(page.getContent());
+        return conditionalPage(page, ifNoneMatch, null);
+    }
+
+    private ResponseEntity<List<CashCard>> findAllAfter(String cursor, Pageable pageable, List<String> ifNoneMatch, Principal principal) {
+        final CashCardCursor after;
+        try {
+            after = cursor.isEmpty() ? null : CashCardCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (pageable.getSort().isSorted()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        final Slice<CashCard> slice = cashCardRepository.findByOwnerAfter(principal.getName(), after, pageable.getPageSize());
+        final String nextCursor = slice.hasNext()
+                ? CashCardCursor.after(slice.getContent().get(slice.getNumberOfElements() - 1)).encode()
+                : null;
+        return conditionalPage(slice, ifNoneMatch, nextCursor);
+    }
+
+    /**
+     * The page has to be read to tag it, but an unchanged one is answered with 304 NOT_MODIFIED without serializing it.
+     */
+    private static ResponseEntity<List<CashCard>> conditionalPage(Slice<CashCard> slice, List<String> ifNoneMatch, String nextCursor) {
+        final String eTag = ETags.of(slice.getContent(), slice.hasNext());
+        final boolean notModified = ifNoneMatch != null && ETags.noneMatchHit(ifNoneMatch, eTag);
+        final ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK).eTag(eTag);
+
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return notModified ? response.build() : response.body(slice.getContent());
+    }
+
+    /**
+     * @param lastEventId sent back by the client when reconnecting, the events it missed are replayed first.
+     * @param principal   holds our user's authenticated, authorized information.
+     * @return server-sent events for every create, update and delete of the caller's cards, named after the change.
+     * A reset event means changes may have been missed: read the cards again.
+     * @apiNote Replaces polling GET /cashcards: subscribe first, then read the current cards once.
+     * @implNote The connection holds no thread while idle. A subscriber too slow for its buffer is disconnected
+     * and resumes with Last-Event-ID. Events of concurrent writes to the same card can arrive out of commit order.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    private ResponseEntity<SseEmitter> stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                              Principal principal) {
+        if (eventBus == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(eventBus.subscribe(principal.getName(), lastEventId));
+    }
+
+    /**
+     * @param acceptEncoding the response is gzipped when the client accepts it.
+     * @param principal      holds our user's authenticated, authorized information.
+     * @return every card of the owner as newline-delimited JSON, one card per line.
+     * @implNote Rows go from a JDBC cursor to the response one by one, heap use does not depend on the number of cards.
+     */
+    @GetMapping("/export")
+    private ResponseEntity<StreamingResponseBody> exportCashCards(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                                  Principal principal) {
+        awaitJournal(principal);
+        final String owner = principal.getName();
+        final boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        final StreamingResponseBody body = outputStream -> {
+            final OutputStream target = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            final BufferedOutputStream buffered = new BufferedOutputStream(target, 64 * 1024);
+
+            try {
+                cashCardRepository.exportByOwner(owner, cashCard -> writeLine(buffered, cashCard));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            buffered.flush();
+            if (target instanceof GZIPOutputStream gzipOutputStream) {
+                gzipOutputStream.finish();
+            }
+        };
+
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, CashCard cashCard) {
+        try {
+            outputStream.write(cashCardWriter.writeValueAsBytes(cashCard));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
@@ -74,6 +300,7 @@ public class CashCardController {
     private ResponseEntity<Void> createCashCard(@RequestBody CashCard newCashCardRequest, UriComponentsBuilder uriComponentsBuilder, Principal principal) {
         final CashCard savedCashCard = cashCardRepository.save(
                 new CashCard(null, newCashCardRequest.amount(), principal.getName()));
+        publish(principal, CashCardEvent.Type.CREATED, savedCashCard.id(), savedCashCard.amount());
 
         final URI locationOfNewCashCard = uriComponentsBuilder
                 .path("cashcards/{id}")
@@ -83,35 +310,249 @@ public class CashCardController {
         return ResponseEntity.created(locationOfNewCashCard).build();
     }
 
+    /**
+     * @param operations @RequestBody an array of create, update and delete operations, applied in order.
+     * @param principal  holds our user's authenticated, authorized information.
+     * @return one result per operation, carrying the status the single-item request would have returned.
+     * @apiNote Lets bulk jobs replace thousands of single-item calls with one request.
+     */
+    @PostMapping("/batch")
+    private ResponseEntity<List<CashCardOperationResult>> applyBatch(@RequestBody List<CashCardOperation> operations, Principal principal) {
+        awaitJournal(principal);
+        final List<CashCardOperationResult> results = cashCardRepository.applyBatch(operations, principal.getName());
+
+        for (CashCardOperationResult result : results) {
+            final CashCardOperation operation = operations.get(result.index());
+            if (result.status() == HttpStatus.CREATED.value()) {
+                publish(principal, CashCardEvent.Type.CREATED, result.id(), operation.amount());
+            } else if (result.status() == HttpStatus.NO_CONTENT.value()) {
+                final boolean delete = operation.op() == CashCardOperation.Type.DELETE;
+                publish(principal, delete ? CashCardEvent.Type.DELETED : CashCardEvent.Type.UPDATED,
+                        result.id(), delete ? null : operation.amount());
+            }
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * @param contentType text/csv, one amount per line, or application/x-ndjson, one card per line.
+     * @param importId    names the import so that resending the same file resumes it, a new one is generated when absent.
+     * @param body        the file, read as it arrives rather than buffered.
+     * @param principal   holds our user's authenticated, authorized information.
+     * @return the progress of the import and the first lines rejected, 409 CONFLICT when the same import is already running.
+     * @apiNote Loads a whole portfolio in one request instead of one POST per card. Invalid lines are reported and
+     * skipped, they do not fail the import.
+     * @implNote Lines are validated in parallel and inserted in multi-row statements, each chunk committing together
+     * with the checkpoint GET /cashcards/import/{importId} reports while the import runs.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    private ResponseEntity<CashCardImportResult> importCashCards(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                 @RequestParam(required = false) String importId,
+                                                                 InputStream body,
+                                                                 Principal principal) throws IOException {
+        if (importId != null && (importId.isBlank() || importId.length() > MAX_IMPORT_ID_LENGTH)) {
+            return ResponseEntity.badRequest().build();
+        }
+        final CashCardImportFormat format = APPLICATION_NDJSON.includes(contentType) ? CashCardImportFormat.NDJSON : CashCardImportFormat.CSV;
+
+        final CashCardImportResult result;
+        try {
+            result = cashCardRepository.importCards(principal.getName(),
+                    importId == null ? UUID.randomUUID().toString() : importId, format, body);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        if (result.cardsImported() > 0) {
+            // one reset rather than an event per imported card
+            publish(principal, CashCardEvent.Type.RESET, null, null);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * @return the progress of one of the caller's imports as last committed.
+     */
+    @GetMapping("/import/{importId}")
+    private ResponseEntity<CashCardImportResult> findImport(@PathVariable String importId, Principal principal) {
+        final CashCardImportResult progress = cashCardRepository.findImport(principal.getName(), importId);
+
+        if (progress == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(progress);
+    }
+
     /**
      * @param requestedId    @PathVariable makes Spring Web aware of the requestedId supplied in the HTTP request.
      * @param cashCardUpdate @RequestBody CashCard contains the updated CashCard data.
+     * @param ifMatch        the ETag the client last read, the update only applies while the card is still at that version.
      * @param principal      holds our user's authenticated, authorized information.
-     * @return an HTTP 204 NO_CONTENT response code
+     * @return an HTTP 204 NO_CONTENT response code, 412 PRECONDITION_FAILED when the card changed since the client read it.
      * @apiNote @PutMapping("/{requestedId}") supports the PUT verb and supplies the target requestedId.
+     * @implNote The ownership and version checks are part of the UPDATE itself, 0 rows affected means not found,
+     * not owned or changed. Without If-Match the last writer wins, and with the write journal enabled the update is
+     * acknowledged once it is durable in the journal. The owner's later reads and synchronous writes wait until the
+     * applier has caught up with it, so they never see the card as it was before.
      */
     @PutMapping("/{requestedId}")
-    private ResponseEntity<Void> updateCashCard(@PathVariable Long requestedId, @RequestBody CashCard cashCardUpdate, Principal principal) {
-        if (!cashCardRepository.existsByIdAndOwner(requestedId, principal.getName())) {
+    private ResponseEntity<Void> updateCashCard(@PathVariable Long requestedId, @RequestBody CashCard cashCardUpdate,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                Principal principal) {
+        if (ifMatch == null || ETags.isAny(ifMatch)) {
+            if (writeJournal != null) {
+                return journaled(JournalEntry.Type.UPDATE, requestedId, cashCardUpdate.amount(), principal);
+            }
+            final int updated = cashCardRepository.updateAmountByIdAndOwner(requestedId, cashCardUpdate.amount(), principal.getName());
+
+            if (updated == 0) {
+                return ResponseEntity.notFound().build();
+            }
+            publish(principal, CashCardEvent.Type.UPDATED, requestedId, cashCardUpdate.amount());
+            return ResponseEntity.noContent().build();
+        }
+
+        awaitJournal(principal);
+        final Long version = ETags.version(ifMatch);
+        final int updated = version == null ? 0
+                : cashCardRepository.updateAmountByIdAndOwnerAndVersion(requestedId, cashCardUpdate.amount(), principal.getName(), version);
+
+        if (updated == 0) {
+            return preconditionFailedOrNotFound(requestedId, principal);
+        }
+        publish(principal, CashCardEvent.Type.UPDATED, requestedId, cashCardUpdate.amount());
+        return ResponseEntity.noContent().eTag(ETags.of(version + 1)).build();
+    }
+
+    /**
+     * @param requestedId @PathVariable the card to debit.
+     * @param adjustment  @RequestBody CashCard whose amount is the positive sum to take off the balance.
+     * @param principal   holds our user's authenticated, authorized information.
+     * @return the card with its new balance, 422 UNPROCESSABLE_ENTITY when the balance is too low.
+     * @apiNote Unlike GET then PUT, concurrent debits can never lose an update: the database applies them one by one.
+     */
+    @PostMapping("/{requestedId}/debit")
+    private ResponseEntity<CashCard> debit(@PathVariable Long requestedId, @RequestBody CashCard adjustment, Principal principal) {
+        if (!isPositive(adjustment)) {
+            return ResponseEntity.badRequest().build();
+        }
+        awaitJournal(principal);
+
+        final CashCard cashCard = cashCardRepository.debit(requestedId, adjustment.amount(), principal.getName());
+
+        if (cashCard == null) {
+            // Only the failure path pays a second query, to tell an unknown card from insufficient funds
+            return cashCardRepository.existsByIdAndOwner(requestedId, principal.getName())
+                    ? ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build()
+                    : ResponseEntity.notFound().build();
+        }
+        publish(principal, CashCardEvent.Type.UPDATED, requestedId, cashCard.amount());
+        return ResponseEntity.ok().eTag(ETags.of(cashCard)).body(cashCard);
+    }
+
+    /**
+     * @param requestedId @PathVariable the card to credit.
+     * @param adjustment  @RequestBody CashCard whose amount is the positive sum to add to the balance.
+     * @param principal   holds our user's authenticated, authorized information.
+     * @return the card with its new balance.
+     */
+    @PostMapping("/{requestedId}/credit")
+    private ResponseEntity<CashCard> credit(@PathVariable Long requestedId, @RequestBody CashCard adjustment, Principal principal) {
+        if (!isPositive(adjustment)) {
+            return ResponseEntity.badRequest().build();
+        }
+        awaitJournal(principal);
+
+        final CashCard cashCard = cashCardRepository.credit(requestedId, adjustment.amount(), principal.getName());
+
+        if (cashCard == null) {
             return ResponseEntity.notFound().build();
         }
+        publish(principal, CashCardEvent.Type.UPDATED, requestedId, cashCard.amount());
+        return ResponseEntity.ok().eTag(ETags.of(cashCard)).body(cashCard);
+    }
 
-        final CashCard updatedCashCard = new CashCard(requestedId, cashCardUpdate.amount(), principal.getName());
-        cashCardRepository.save(updatedCashCard);
-        return ResponseEntity.noContent().build();
+    private static boolean isPositive(CashCard adjustment) {
+        return adjustment.amount() > 0;
     }
 
     /**
+     * @param ifMatch the ETag the client last read, the card is only deleted while it is still at that version.
      * @apiNote @DeleteMapping("/{id}") supports the DELETE verb and supplies the target id.
+     * @implNote The ownership check is part of the DELETE itself, 0 rows affected means not found or not owned.
+     * With the write journal enabled an unconditional delete is acknowledged once durable in the journal.
      */
     @DeleteMapping("/{id}")
-    private ResponseEntity<Void> deleteCashCard(@PathVariable Long id, Principal principal) {
-        if (!cashCardRepository.existsByIdAndOwner(id, principal.getName())) {
-            return ResponseEntity.notFound().build();
+    private ResponseEntity<Void> deleteCashCard(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                Principal principal) {
+        if (ifMatch == null || ETags.isAny(ifMatch)) {
+            if (writeJournal != null) {
+                return journaled(JournalEntry.Type.DELETE, id, 0, principal);
+            }
+            final int deleted = cashCardRepository.deleteByIdAndOwner(id, principal.getName());
+
+            if (deleted == 0) {
+                return ResponseEntity.notFound().build();
+            }
+            publish(principal, CashCardEvent.Type.DELETED, id, null);
+            return ResponseEntity.noContent().build();
         }
 
-        cashCardRepository.deleteById(id);
+        awaitJournal(principal);
+        final Long version = ETags.version(ifMatch);
+        final int deleted = version == null ? 0 : cashCardRepository.deleteByIdAndOwnerAndVersion(id, principal.getName(), version);
+
+        if (deleted == 0) {
+            return preconditionFailedOrNotFound(id, principal);
+        }
+        publish(principal, CashCardEvent.Type.DELETED, id, null);
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Ownership is checked up front since the journal applies the write later, a card whose delete is still in the
+     * journal counting as gone. The caller then waits for the group commit that makes the entry durable, shared with
+     * every other write of the same flush.
+     */
+    private ResponseEntity<Void> journaled(JournalEntry.Type type, Long id, long amount, Principal principal) {
+        if (writeJournal.isDeletePending(id) || !cashCardRepository.existsByIdAndOwner(id, principal.getName())) {
+            return ResponseEntity.notFound().build();
+        }
+        writeJournal.append(type, id, amount, principal.getName()).join();
+        if (type == JournalEntry.Type.DELETE) {
+            publish(principal, CashCardEvent.Type.DELETED, id, null);
+        } else {
+            publish(principal, CashCardEvent.Type.UPDATED, id, amount);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Read-your-writes with the journal: cash_card is only read, or written synchronously, for the caller once the
+     * caller's journaled writes have reached it.
+     */
+    private void awaitJournal(Principal principal) {
+        if (writeJournal != null && !writeJournal.awaitApplied(principal.getName(), journalCatchUpTimeout)) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The write journal is behind, retry later");
+        }
+    }
+
+    /**
+     * Called once the write committed, or is durable in the journal.
+     */
+    private void publish(Principal principal, CashCardEvent.Type type, Long id, Long amount) {
+        if (eventBus != null) {
+            eventBus.publish(principal.getName(), type, id, amount);
+        }
+    }
+
+    /**
+     * Only the failure path of a conditional write pays a second query, to tell an unknown card from a changed one.
+     */
+    private ResponseEntity<Void> preconditionFailedOrNotFound(Long id, Principal principal) {
+        return cashCardRepository.existsByIdAndOwner(id, principal.getName())
+                ? ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build()
+                : ResponseEntity.notFound().build();
+    }
+
 }
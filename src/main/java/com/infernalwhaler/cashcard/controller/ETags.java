@@ -0,0 +1,86 @@
+package com.infernalwhaler.cashcard.controller;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Strong entity tags of cash card responses.
+ * <p>
+ * A single card is tagged with its version, which every write bumps. A list is tagged with a digest of the ids and
+ * versions it holds, plus whether more pages follow, so it changes whenever any card on the page changes.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+final class ETags {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETags() {
+    }
+
+    static String of(CashCard cashCard) {
+        return of(cashCard.version());
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(List<CashCard> cashCards, boolean hasNext) {
+        final ByteBuffer buffer = ByteBuffer.allocate(cashCards.size() * 2 * Long.BYTES + 1);
+        for (CashCard cashCard : cashCards) {
+            buffer.putLong(cashCard.id()).putLong(cashCard.version());
+        }
+        buffer.put((byte) (hasNext ? 1 : 0));
+
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(buffer.array());
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * If-None-Match uses the weak comparison: W/"1" matches "1".
+     */
+    static boolean noneMatchHit(List<String> ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch) {
+            final String trimmed = candidate.trim();
+            if (trimmed.equals(ANY) || eTag.equals(trimmed.startsWith(WEAK_PREFIX) ? trimmed.substring(WEAK_PREFIX.length()) : trimmed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isAny(String ifMatch) {
+        return ifMatch.trim().equals(ANY);
+    }
+
+    /**
+     * If-Match uses the strong comparison, so a weak tag never matches.
+     *
+     * @return the version named by a strong single-card tag, or null when the header names anything else.
+     */
+    static Long version(String ifMatch) {
+        final String trimmed = ifMatch.trim();
+        if (trimmed.length() < 3 || trimmed.charAt(0) != '"' || trimmed.charAt(trimmed.length() - 1) != '"') {
+            return null;
+        }
+        try {
+            return Long.valueOf(trimmed.substring(1, trimmed.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
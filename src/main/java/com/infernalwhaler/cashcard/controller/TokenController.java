@@ -0,0 +1,37 @@
+package com.infernalwhaler.cashcard.controller;
+
+import com.infernalwhaler.cashcard.security.SignedTokenService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@RestController
+@RequestMapping("/auth")
+@ConditionalOnProperty(prefix = "cashcard.security.token", name = "enabled", havingValue = "true")
+public class TokenController {
+
+    private final SignedTokenService signedTokenService;
+
+    public TokenController(SignedTokenService signedTokenService) {
+        this.signedTokenService = signedTokenService;
+    }
+
+    /**
+     * @param authentication the caller, authenticated once with HTTP Basic.
+     * @return a short-lived bearer token carrying the caller's name and roles.
+     * @apiNote Later requests send "Authorization: Bearer token" and skip the password check entirely.
+     */
+    @PostMapping("/token")
+    private ResponseEntity<SignedTokenService.SignedToken> issueToken(Authentication authentication) {
+        return ResponseEntity.ok(signedTokenService.issue(authentication));
+    }
+}
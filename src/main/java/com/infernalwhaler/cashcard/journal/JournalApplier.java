@@ -0,0 +1,215 @@
+package com.infernalwhaler.cashcard.journal;
+
+import com.infernalwhaler.cashcard.repository.CashCardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies durable journal entries to {@code cash_card} in the background.
+ * <p>
+ * Each batch is one transaction: consecutive entries of the same type become one JDBC batch, and the checkpoint
+ * row moves to the last sequence of the batch in that same transaction, so after a crash every entry is applied
+ * exactly once. On start, entries past the checkpoint are replayed from the segment files before the web server
+ * accepts requests; on stop, it drains what the journal still holds after the web server is gone.
+ * <p>
+ * Once a batch is committed and evicted from the cache, the journal is told so, which releases the readers and
+ * synchronous writers waiting in {@link WriteJournal#awaitApplied}.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class JournalApplier implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalApplier.class);
+
+    private static final String UPDATE = "UPDATE cash_card SET amount = :amount, version = version + 1 WHERE id = :id AND owner = :owner";
+    private static final String DELETE = "DELETE FROM cash_card WHERE id = :id AND owner = :owner";
+    private static final String SELECT_CHECKPOINT = "SELECT applied_sequence FROM cash_card_journal_checkpoint WHERE id = 1";
+    private static final String UPDATE_CHECKPOINT = "UPDATE cash_card_journal_checkpoint SET applied_sequence = :sequence WHERE id = 1";
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final WriteJournal journal;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache cashCardCache;
+    private final int batchSize;
+    private final Duration applyInterval;
+
+    private volatile boolean running;
+    private volatile long appliedSequence;
+    private Thread applier;
+
+    public JournalApplier(WriteJournal journal,
+                          NamedParameterJdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          CacheManager cacheManager,
+                          int batchSize,
+                          Duration applyInterval) {
+        this.journal = journal;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cashCardCache = cacheManager.getCache(CashCardRepository.CASH_CARDS_CACHE);
+        this.batchSize = batchSize;
+        this.applyInterval = applyInterval;
+    }
+
+    /**
+     * @return the sequence of the last entry committed to {@code cash_card}.
+     */
+    public long appliedSequence() {
+        return appliedSequence;
+    }
+
+    @Override
+    public void start() {
+        appliedSequence = jdbcTemplate.getJdbcTemplate().queryForObject(SELECT_CHECKPOINT, Long.class);
+        recover();
+        journal.markApplied(appliedSequence, List.of());
+        running = true;
+        applier = Thread.ofPlatform().daemon().name("cashcard-journal-applier").start(this::applyLoop);
+    }
+
+    @Override
+    public void stop() {
+        try {
+            journal.close();
+            running = false;
+            applier.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Below the web server: started before it takes requests, stopped once it no longer does.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void recover() {
+        final long checkpoint = appliedSequence;
+        final List<JournalEntry> batch = new ArrayList<>(batchSize);
+        try {
+            journal.replay(checkpoint, entry -> {
+                batch.add(entry);
+                if (batch.size() == batchSize) {
+                    apply(batch);
+                    batch.clear();
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay the write journal", e);
+        }
+        apply(batch);
+        if (appliedSequence > checkpoint) {
+            log.info("Replayed journal entries {} to {}", checkpoint + 1, appliedSequence);
+        }
+    }
+
+    private void applyLoop() {
+        final List<JournalEntry> batch = new ArrayList<>(batchSize);
+        while (running || journal.backlog() > 0 || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    journal.drainDurable(batch, batchSize, applyInterval.toMillis(), TimeUnit.MILLISECONDS);
+                }
+                apply(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (DataAccessException e) {
+                if (!running) {
+                    log.warn("Stopping with {} journal entries unapplied, they are replayed on the next start", batch.size() + journal.backlog(), e);
+                    return;
+                }
+                log.warn("Could not apply {} journal entries, retrying in {}", batch.size(), RETRY_DELAY, e);
+                try {
+                    Thread.sleep(RETRY_DELAY);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(List<JournalEntry> entries) {
+        final List<JournalEntry> pending = entries.stream()
+                .filter(entry -> entry.sequence() > appliedSequence)
+                .toList();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        final long lastSequence = pending.getLast().sequence();
+        transactionTemplate.executeWithoutResult(status -> {
+            int runStart = 0;
+            while (runStart < pending.size()) {
+                final JournalEntry.Type type = pending.get(runStart).type();
+                int runEnd = runStart + 1;
+                while (runEnd < pending.size() && pending.get(runEnd).type() == type) {
+                    runEnd++;
+                }
+                applyRun(pending.subList(runStart, runEnd), type);
+                runStart = runEnd;
+            }
+            jdbcTemplate.update(UPDATE_CHECKPOINT, new MapSqlParameterSource("sequence", lastSequence));
+        });
+        appliedSequence = lastSequence;
+
+        evictApplied(pending);
+        journal.markApplied(lastSequence, pending);
+        try {
+            journal.deleteAppliedSegments(lastSequence);
+        } catch (IOException e) {
+            log.warn("Could not delete applied journal segments", e);
+        }
+    }
+
+    private void applyRun(List<JournalEntry> run, JournalEntry.Type type) {
+        final SqlParameterSource[] batch = run.stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("id", entry.id())
+                        .addValue("amount", entry.amount())
+                        .addValue("owner", entry.owner()))
+                .toArray(SqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate(type == JournalEntry.Type.UPDATE ? UPDATE : DELETE, batch);
+    }
+
+    /**
+     * Same "id:owner" keys as the cache annotations of {@link CashCardRepository}.
+     */
+    private void evictApplied(List<JournalEntry> entries) {
+        if (cashCardCache == null) {
+            return;
+        }
+        entries.forEach(entry -> cashCardCache.evict(entry.id() + ":" + entry.owner()));
+    }
+}
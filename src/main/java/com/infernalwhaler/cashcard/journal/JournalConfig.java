@@ -0,0 +1,57 @@
+package com.infernalwhaler.cashcard.journal;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Write-behind path for unconditional PUT and DELETE, only installed with {@code cashcard.journal.enabled=true}.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@Configuration
+@ConditionalOnProperty(prefix = "cashcard.journal", name = "enabled", havingValue = "true")
+public class JournalConfig {
+
+    @Bean
+    WriteJournal writeJournal(@Value("${cashcard.journal.directory:${java.io.tmpdir}/cashcard-journal}") Path directory,
+                              @Value("${cashcard.journal.segment-size:64MB}") DataSize segmentSize,
+                              @Value("${cashcard.journal.flush-interval:2ms}") Duration flushInterval,
+                              @Value("${cashcard.journal.flush-entries:256}") int flushEntries) throws IOException {
+        return new WriteJournal(directory, Math.toIntExact(segmentSize.toBytes()), flushInterval.toNanos(), flushEntries);
+    }
+
+    @Bean
+    JournalApplier journalApplier(WriteJournal writeJournal,
+                                  NamedParameterJdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  CacheManager cacheManager,
+                                  @Value("${cashcard.journal.apply-batch-size:1000}") int batchSize,
+                                  @Value("${cashcard.journal.apply-interval:10ms}") Duration applyInterval) {
+        return new JournalApplier(writeJournal, jdbcTemplate, transactionManager, cacheManager, batchSize, applyInterval);
+    }
+
+    /**
+     * Durable entries not yet handed to the applier: how far reads lag behind acknowledged writes.
+     */
+    @Bean
+    MeterBinder journalMetrics(WriteJournal writeJournal) {
+        return registry -> Gauge.builder("cashcard.journal.backlog", writeJournal, WriteJournal::backlog)
+                .description("Durable journal entries waiting to be applied")
+                .register(registry);
+    }
+}
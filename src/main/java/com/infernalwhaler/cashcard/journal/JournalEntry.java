@@ -0,0 +1,45 @@
+package com.infernalwhaler.cashcard.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One card mutation as it is written to the journal.
+ *
+ * @param sequence position in the journal, strictly increasing across segments.
+ * @param amount   the new balance in minor units, unused by a delete.
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public record JournalEntry(long sequence, Type type, long id, long amount, String owner) {
+
+    public enum Type {
+        UPDATE, DELETE
+    }
+
+    int payloadSize() {
+        return Long.BYTES + 1 + Long.BYTES + Long.BYTES + Short.BYTES + owner.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        final byte[] ownerBytes = owner.getBytes(StandardCharsets.UTF_8);
+        buffer.putLong(sequence)
+                .put((byte) type.ordinal())
+                .putLong(id)
+                .putLong(amount)
+                .putShort((short) ownerBytes.length)
+                .put(ownerBytes);
+    }
+
+    static JournalEntry readFrom(ByteBuffer buffer) {
+        final long sequence = buffer.getLong();
+        final Type type = Type.values()[buffer.get()];
+        final long id = buffer.getLong();
+        final long amount = buffer.getLong();
+        final byte[] ownerBytes = new byte[buffer.getShort()];
+        buffer.get(ownerBytes);
+        return new JournalEntry(sequence, type, id, amount, new String(ownerBytes, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,458 @@
+package com.infernalwhaler.cashcard.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of card mutations in memory-mapped segment files, made durable by group commit.
+ * <p>
+ * Appends only copy the entry into the mapped segment. A single flusher thread forces the written range to disk
+ * once per flush interval, or as soon as enough entries are waiting, and then completes the futures of every entry
+ * it covered: one fsync acknowledges a whole burst of writers. Durable entries are then queued for the applier.
+ * <p>
+ * Each record is {@code [payload length][CRC32C][payload]}. The length is written last, so a record torn by a crash
+ * reads as the end of the segment, and a record with a bad checksum ends the replay of its segment.
+ * Segment files are named after their first sequence and never reopened for writing: a restarted journal starts
+ * a new segment after the last valid entry.
+ * <p>
+ * When a flush fails, its entries and every entry appended after them are reported as failed, their lengths are
+ * zeroed so that a replay never applies them, and appends continue in a new segment. Should even that fail,
+ * the journal refuses further appends.
+ * <p>
+ * The journal also remembers the last entry of each owner until it is applied, see {@link #awaitApplied}.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class WriteJournal implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int RECORD_HEADER = 2 * Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long flushIntervalNanos;
+    private final int flushEntries;
+    private final BlockingQueue<JournalEntry> durableEntries = new LinkedBlockingQueue<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushNeeded = lock.newCondition();
+    private final Thread flusher;
+
+    // written under lock, the sequence of the last unapplied entry of each owner and of each pending delete
+    private final Map<String, Long> unappliedByOwner = new ConcurrentHashMap<>();
+    private final Map<Long, Long> pendingDeletes = new ConcurrentHashMap<>();
+
+    private final ReentrantLock appliedLock = new ReentrantLock();
+    private final Condition appliedAdvanced = appliedLock.newCondition();
+    private volatile long appliedSequence;
+
+    // written by the flusher only
+    private volatile long lastDurableSequence;
+
+    // guarded by lock
+    private Segment current;
+    private long nextSequence;
+    private List<Pending> pending = new ArrayList<>();
+    private boolean closed;
+    private IllegalStateException failure;
+
+    public WriteJournal(Path directory, int segmentSize, long flushIntervalNanos, int flushEntries) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.flushIntervalNanos = flushIntervalNanos;
+        this.flushEntries = flushEntries;
+
+        final long[] lastSequence = {0};
+        replay(0, entry -> lastSequence[0] = entry.sequence());
+        this.lastDurableSequence = lastSequence[0];
+        this.nextSequence = lastSequence[0] + 1;
+
+        // a newest segment without a valid entry, e.g. left by a run without writes, is reused rather than followed
+        final List<Path> segments = segments();
+        if (!segments.isEmpty() && firstSequence(segments.getLast()) >= nextSequence) {
+            nextSequence = firstSequence(segments.getLast());
+            Files.delete(segments.getLast());
+        }
+        this.current = openSegment(nextSequence);
+
+        this.flusher = Thread.ofPlatform().daemon().name("cashcard-journal-flusher").start(this::flushLoop);
+    }
+
+    /**
+     * @return completes once the entry is on disk, or exceptionally when the flush failed.
+     */
+    public CompletableFuture<Void> append(JournalEntry.Type type, long id, long amount, String owner) {
+        final CompletableFuture<Void> durable = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The journal is closed");
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            final JournalEntry entry = new JournalEntry(nextSequence, type, id, amount, owner);
+            final int payloadSize = entry.payloadSize();
+            if (current.buffer.remaining() < RECORD_HEADER + payloadSize) {
+                roll(entry.sequence());
+            }
+            final int position = current.buffer.position();
+            write(current.buffer, entry, payloadSize);
+            nextSequence++;
+
+            unappliedByOwner.put(owner, entry.sequence());
+            if (type == JournalEntry.Type.DELETE) {
+                pendingDeletes.put(id, entry.sequence());
+            }
+            pending.add(new Pending(entry, durable, current, position));
+            if (pending.size() == 1 || pending.size() >= flushEntries) {
+                flushNeeded.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return durable;
+    }
+
+    /**
+     * Moves up to {@code max} durable entries, in journal order, waiting up to {@code timeout} for the first one.
+     */
+    public void drainDurable(Collection<JournalEntry> into, int max, long timeout, TimeUnit unit) throws InterruptedException {
+        final JournalEntry first = durableEntries.poll(timeout, unit);
+        if (first != null) {
+            into.add(first);
+            durableEntries.drainTo(into, max - 1);
+        }
+    }
+
+    /**
+     * Called by the applier once entries are committed to cash_card and evicted from the cache.
+     *
+     * @param appliedSequence the sequence of the last entry applied.
+     */
+    public void markApplied(long appliedSequence, Collection<JournalEntry> entries) {
+        for (JournalEntry entry : entries) {
+            unappliedByOwner.remove(entry.owner(), entry.sequence());
+            pendingDeletes.remove(entry.id(), entry.sequence());
+        }
+        appliedLock.lock();
+        try {
+            this.appliedSequence = Math.max(this.appliedSequence, appliedSequence);
+            appliedAdvanced.signalAll();
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+
+    /**
+     * Waits until every entry appended for the owner so far has been applied, so that what the caller reads or
+     * writes next does not predate a write already acknowledged to it.
+     *
+     * @return false when the applier did not catch up within the timeout, or the thread was interrupted.
+     */
+    public boolean awaitApplied(String owner, Duration timeout) {
+        final Long sequence = unappliedByOwner.get(owner);
+        if (sequence == null) {
+            return true;
+        }
+        if (appliedSequence < sequence) {
+            appliedLock.lock();
+            try {
+                long remaining = timeout.toNanos();
+                while (appliedSequence < sequence) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = appliedAdvanced.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                appliedLock.unlock();
+            }
+        }
+        // left over by a failed flush, see discard
+        unappliedByOwner.remove(owner, sequence);
+        return true;
+    }
+
+    /**
+     * @return whether a delete of the card is journaled but not applied yet.
+     */
+    public boolean isDeletePending(long id) {
+        return pendingDeletes.containsKey(id);
+    }
+
+    /**
+     * @return the number of durable entries waiting to be applied.
+     */
+    public int backlog() {
+        return durableEntries.size();
+    }
+
+    /**
+     * Reads every valid entry after {@code afterSequence}, oldest first.
+     */
+    public void replay(long afterSequence, Consumer<JournalEntry> consumer) throws IOException {
+        for (Path segment : segments()) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                JournalEntry entry;
+                while ((entry = read(buffer)) != null) {
+                    if (entry.sequence() > afterSequence) {
+                        consumer.accept(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the closed segments whose entries have all been applied.
+     */
+    public void deleteAppliedSegments(long appliedSequence) throws IOException {
+        final List<Path> segments = segments();
+        final Path open = currentPath();
+
+        for (int i = 0; i < segments.size() - 1; i++) {
+            final long lastSequenceOfSegment = firstSequence(segments.get(i + 1)) - 1;
+            if (lastSequenceOfSegment <= appliedSequence && !segments.get(i).equals(open)) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        }
+    }
+
+    /**
+     * Stops accepting appends, flushes what is pending and waits for the flusher to finish. Safe to call twice.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushNeeded.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        flusher.join();
+        closeQuietly(current);
+    }
+
+    private void flushLoop() {
+        while (true) {
+            final List<Pending> batch;
+            final Segment segment;
+            final int from;
+            final int to;
+
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !closed) {
+                    flushNeeded.awaitUninterruptibly();
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                // give concurrent writers the rest of the interval to join this fsync
+                long remaining = flushIntervalNanos;
+                while (pending.size() < flushEntries && remaining > 0 && !closed) {
+                    remaining = flushNeeded.awaitNanos(remaining);
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+                segment = current;
+                from = segment.forcedPosition;
+                to = segment.buffer.position();
+                segment.forcedPosition = to;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                force(segment.buffer, from, to - from);
+                for (Pending write : batch) {
+                    durableEntries.add(write.entry());
+                }
+                lastDurableSequence = batch.getLast().entry().sequence();
+                batch.forEach(write -> write.durable().complete(null));
+            } catch (RuntimeException e) {
+                discard(batch, e);
+            }
+        }
+    }
+
+    /**
+     * Fails a batch whose flush failed, together with everything appended after it, which sits behind it in the
+     * segment. Their lengths are zeroed, so a replay stops before them, and appends continue in a fresh segment.
+     */
+    private void discard(List<Pending> batch, RuntimeException cause) {
+        final List<Pending> failed = new ArrayList<>(batch);
+        lock.lock();
+        try {
+            failed.addAll(pending);
+            pending = new ArrayList<>();
+            for (Pending write : failed) {
+                write.segment().buffer.putInt(write.position(), 0);
+            }
+            try {
+                for (Segment segment : failed.stream().map(Pending::segment).distinct().toList()) {
+                    if (segment != current) {
+                        segment.buffer.force();
+                    }
+                }
+                roll(nextSequence);
+            } catch (RuntimeException e) {
+                failure = new IllegalStateException("The journal could not discard a failed flush", e);
+            }
+
+            // the failed entries will never be applied: wait for the last durable entry instead
+            final long firstFailed = failed.getFirst().entry().sequence();
+            final long settled = lastDurableSequence;
+            for (Pending write : failed) {
+                unappliedByOwner.computeIfPresent(write.entry().owner(), (owner, sequence) -> sequence >= firstFailed ? settled : sequence);
+                pendingDeletes.remove(write.entry().id(), write.entry().sequence());
+            }
+        } finally {
+            lock.unlock();
+        }
+        failed.forEach(write -> write.durable().completeExceptionally(cause));
+    }
+
+    /**
+     * Forces a range of a segment to disk, overridden by tests to simulate a failing device.
+     */
+    void force(MappedByteBuffer buffer, int index, int length) {
+        buffer.force(index, length);
+    }
+
+    /**
+     * Forces and closes the full segment, entries still pending in it are completed by the next flush.
+     */
+    private void roll(long firstSequence) {
+        current.buffer.force();
+        closeQuietly(current);
+        current = openSegment(firstSequence);
+    }
+
+    private Segment openSegment(long firstSequence) {
+        final Path path = directory.resolve(SEGMENT_PREFIX + String.format("%020d", firstSequence) + SEGMENT_SUFFIX);
+        try {
+            final FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create journal segment " + path, e);
+        }
+    }
+
+    private static void write(MappedByteBuffer buffer, JournalEntry entry, int payloadSize) {
+        final int start = buffer.position();
+        buffer.position(start + RECORD_HEADER);
+        entry.writeTo(buffer);
+
+        final CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + RECORD_HEADER, payloadSize));
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(start, payloadSize);
+    }
+
+    private static JournalEntry read(ByteBuffer buffer) {
+        if (buffer.remaining() < RECORD_HEADER) {
+            return null;
+        }
+        final int start = buffer.position();
+        final int payloadSize = buffer.getInt(start);
+        if (payloadSize <= 0 || payloadSize > buffer.remaining() - RECORD_HEADER) {
+            return null;
+        }
+
+        final CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + RECORD_HEADER, payloadSize));
+        if ((int) crc.getValue() != buffer.getInt(start + Integer.BYTES)) {
+            return null;
+        }
+        buffer.position(start + RECORD_HEADER);
+        return JournalEntry.readFrom(buffer);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path currentPath() {
+        lock.lock();
+        try {
+            return current.path;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        final String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void closeQuietly(Segment segment) {
+        try {
+            segment.channel.close();
+        } catch (IOException ignored) {
+            // the mapping stays valid, and everything in it was forced already
+        }
+    }
+
+    private record Pending(JournalEntry entry, CompletableFuture<Void> durable, Segment segment, int position) {
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int forcedPosition;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
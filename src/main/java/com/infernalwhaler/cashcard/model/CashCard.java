@@ -1,13 +1,36 @@
 package com.infernalwhaler.cashcard.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.data.annotation.Version;
 
 /**
+ * @param amount  balance in minor units (cents), read and written as a decimal by {@link MoneyJson}.
+ * @param version bumped by every write, sent as the ETag rather than in the body.
  * @author Sdeseure
  * @project cash card
  * @date 8/05/2025
  */
 
-public record CashCard(@Id Long id, Double amount, String owner) {
+public record CashCard(@Id Long id,
+                       @JsonSerialize(using = MoneyJson.Serializer.class)
+                       @JsonDeserialize(using = MoneyJson.Deserializer.class) long amount,
+                       String owner,
+                       @Version @JsonIgnore Long version) {
 
+    @JsonCreator
+    @PersistenceCreator
+    public CashCard {
+    }
+
+    /**
+     * A card not read from the database yet, saving it inserts a new row.
+     */
+    public CashCard(Long id, long amount, String owner) {
+        this(id, amount, owner, null);
+    }
 }
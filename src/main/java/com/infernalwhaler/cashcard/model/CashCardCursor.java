@@ -0,0 +1,39 @@
+package com.infernalwhaler.cashcard.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in an owner's cards sorted by amount then id, handed to clients as an opaque continuation token.
+ *
+ * @param amount amount of the last card returned, in minor units.
+ * @param id     id of the last card returned, breaks ties between equal amounts.
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public record CashCardCursor(long amount, Long id) {
+
+    public static CashCardCursor after(CashCard cashCard) {
+        return new CashCardCursor(cashCard.amount(), cashCard.id());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((amount + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token was not produced by {@link #encode()}.
+     */
+    public static CashCardCursor decode(String token) {
+        final String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        final int separator = decoded.lastIndexOf(':');
+
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new CashCardCursor(Long.parseLong(decoded.substring(0, separator)), Long.valueOf(decoded.substring(separator + 1)));
+    }
+}
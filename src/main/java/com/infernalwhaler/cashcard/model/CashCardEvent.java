@@ -0,0 +1,39 @@
+package com.infernalwhaler.cashcard.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.Locale;
+
+/**
+ * One change to a card of an owner, as pushed by GET /cashcards/stream.
+ *
+ * @param sequence also the id of the server-sent event, to send back as Last-Event-ID when reconnecting.
+ * @param cardId   the card that changed, null on reset.
+ * @param amount   the balance the write set, null on delete and reset.
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public record CashCardEvent(long sequence,
+                            Type type,
+                            Long cardId,
+                            @JsonSerialize(using = MoneyJson.Serializer.class)
+                            @JsonDeserialize(using = MoneyJson.Deserializer.class) Long amount) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED,
+        /**
+         * Changes may have been missed, the subscriber has to read the cards again.
+         */
+        RESET;
+
+        /**
+         * @return the name of the server-sent event.
+         */
+        public String eventName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
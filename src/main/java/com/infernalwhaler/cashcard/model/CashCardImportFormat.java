@@ -0,0 +1,22 @@
+package com.infernalwhaler.cashcard.model;
+
+/**
+ * Line formats accepted by POST /cashcards/import, one card per line.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public enum CashCardImportFormat {
+
+    /**
+     * text/csv: a single amount column, e.g. {@code 123.45}, under an optional {@code amount} header.
+     */
+    CSV,
+
+    /**
+     * application/x-ndjson: one card per line as POST /cashcards takes it, e.g. {@code {"amount": 123.45}}.
+     */
+    NDJSON
+}
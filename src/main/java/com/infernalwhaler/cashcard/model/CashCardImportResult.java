@@ -0,0 +1,28 @@
+package com.infernalwhaler.cashcard.model;
+
+import java.util.List;
+
+/**
+ * Progress of an import, as committed: every count covers the lines of the file up to its last checkpoint.
+ *
+ * @param importId      resending the file under this id resumes after {@code linesRead}.
+ * @param linesRead     lines of the file past the header, imported or rejected.
+ * @param cardsImported cards created.
+ * @param linesRejected lines that did not hold a valid card.
+ * @param completed     whether the end of the file was reached, a completed import is never applied twice.
+ * @param rejections    the first rejected lines of this request, not of earlier ones.
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public record CashCardImportResult(String importId, long linesRead, long cardsImported, long linesRejected,
+                                   boolean completed, List<Rejection> rejections) {
+
+    /**
+     * @param line line number in the file, header included.
+     */
+    public record Rejection(long line, String reason) {
+
+    }
+}
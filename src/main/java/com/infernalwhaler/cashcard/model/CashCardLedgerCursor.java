@@ -0,0 +1,45 @@
+package com.infernalwhaler.cashcard.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the history of a card sorted by time then sequence, handed to clients as an opaque continuation token.
+ *
+ * @param recordedAt time of the last entry returned.
+ * @param sequence   sequence of the last entry returned, breaks ties between entries of the same transaction.
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public record CashCardLedgerCursor(Instant recordedAt, long sequence) {
+
+    public static CashCardLedgerCursor after(CashCardLedgerEntry entry) {
+        return new CashCardLedgerCursor(entry.recordedAt(), entry.sequence());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((recordedAt + ":" + sequence).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token was not produced by {@link #encode()}.
+     */
+    public static CashCardLedgerCursor decode(String token) {
+        final String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        final int separator = decoded.lastIndexOf(':');
+
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        try {
+            return new CashCardLedgerCursor(Instant.parse(decoded.substring(0, separator)), Long.parseLong(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
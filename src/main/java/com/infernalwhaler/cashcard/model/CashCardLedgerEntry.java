@@ -0,0 +1,33 @@
+package com.infernalwhaler.cashcard.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.Instant;
+
+/**
+ * One balance change of a card, as recorded in the ledger.
+ *
+ * @param sequence     position in the ledger, increasing with every entry.
+ * @param delta        signed movement in minor units, written as a decimal like every amount.
+ * @param balanceAfter balance of the card once the change applied, 0 after a delete.
+ * @param version      version of the card the change produced.
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public record CashCardLedgerEntry(long sequence,
+                                  long cardId,
+                                  Type type,
+                                  @JsonSerialize(using = MoneyJson.Serializer.class)
+                                  @JsonDeserialize(using = MoneyJson.Deserializer.class) long delta,
+                                  @JsonSerialize(using = MoneyJson.Serializer.class)
+                                  @JsonDeserialize(using = MoneyJson.Deserializer.class) long balanceAfter,
+                                  long version,
+                                  Instant recordedAt) {
+
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+}
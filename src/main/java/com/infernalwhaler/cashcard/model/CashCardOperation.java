@@ -0,0 +1,39 @@
+package com.infernalwhaler.cashcard.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * One item of a POST /cashcards/batch request.
+ *
+ * @param op     what to do with the card.
+ * @param id     the card to update or delete, ignored on create.
+ * @param amount the new balance in minor units, required on create and update.
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public record CashCardOperation(Type op,
+                                Long id,
+                                @JsonSerialize(using = MoneyJson.Serializer.class)
+                                @JsonDeserialize(using = MoneyJson.Deserializer.class) Long amount) {
+
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+
+    /**
+     * @return true when the operation carries everything its type needs.
+     */
+    public boolean isValid() {
+        if (op == null) {
+            return false;
+        }
+        return switch (op) {
+            case CREATE -> amount != null;
+            case UPDATE -> id != null && amount != null;
+            case DELETE -> id != null;
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.infernalwhaler.cashcard.model;
+
+/**
+ * Outcome of one item of a POST /cashcards/batch request, in the order the items were sent.
+ *
+ * @param index  position of the operation in the request.
+ * @param id     the card the operation applied to, the generated id on create.
+ * @param status HTTP status the equivalent single-item request would have returned.
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public record CashCardOperationResult(int index, Long id, int status) {
+
+}
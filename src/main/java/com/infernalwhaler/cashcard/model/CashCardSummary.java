@@ -0,0 +1,30 @@
+package com.infernalwhaler.cashcard.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Aggregate of one owner's portfolio, amounts in minor units.
+ *
+ * @param cardCount   number of cards the owner holds.
+ * @param totalAmount sum of all balances, 0 without cards.
+ * @param minAmount   lowest balance, null without cards.
+ * @param maxAmount   highest balance, null without cards.
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public record CashCardSummary(String owner,
+                              long cardCount,
+                              @JsonSerialize(using = MoneyJson.Serializer.class)
+                              @JsonDeserialize(using = MoneyJson.Deserializer.class) long totalAmount,
+                              @JsonSerialize(using = MoneyJson.Serializer.class)
+                              @JsonDeserialize(using = MoneyJson.Deserializer.class) Long minAmount,
+                              @JsonSerialize(using = MoneyJson.Serializer.class)
+                              @JsonDeserialize(using = MoneyJson.Deserializer.class) Long maxAmount) {
+
+    public static CashCardSummary empty(String owner) {
+        return new CashCardSummary(owner, 0, 0, null, null);
+    }
+}
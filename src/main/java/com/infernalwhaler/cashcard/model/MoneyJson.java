@@ -0,0 +1,119 @@
+package com.infernalwhaler.cashcard.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamWriteCapability;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * JSON mapping of amounts held as a long count of minor units (cents).
+ * <p>
+ * The wire format does not change: 12345 cents is written as 123.45 and 123.45 is read back as 12345 cents.
+ * Amounts are parsed from their decimal text, never through a double, and more than two decimals are rejected
+ * rather than rounded.
+ * <p>
+ * Binary formats such as CBOR have no number text to write: the amount goes out as an exact decimal there,
+ * 12345 cents as 12345 with a scale of 2, and is read back through the same checks.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public final class MoneyJson {
+
+    static final int SCALE = 2;
+
+    private MoneyJson() {
+    }
+
+    /**
+     * @return the minor units as a decimal number with two fractional digits, e.g. 100 as "1.00".
+     */
+    public static String format(long minorUnits) {
+        if (minorUnits == Long.MIN_VALUE) {
+            return BigDecimal.valueOf(minorUnits, SCALE).toPlainString();
+        }
+        final long abs = Math.abs(minorUnits);
+        final long cents = abs % 100;
+        return (minorUnits < 0 ? "-" : "") + abs / 100 + (cents < 10 ? ".0" : ".") + cents;
+    }
+
+    /**
+     * @throws ArithmeticException when the amount has more than two decimals or does not fit a long.
+     */
+    public static long parse(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    public static class Serializer extends StdSerializer<Long> {
+
+        public Serializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public void serialize(Long minorUnits, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (generator.getWriteCapabilities().isEnabled(StreamWriteCapability.CAN_WRITE_FORMATTED_NUMBERS)) {
+                generator.writeNumber(format(minorUnits));
+            } else {
+                generator.writeNumber(BigDecimal.valueOf(minorUnits, SCALE));
+            }
+        }
+    }
+
+    public static class Deserializer extends StdScalarDeserializer<Long> implements ContextualDeserializer {
+
+        private final boolean primitive;
+
+        public Deserializer() {
+            this(false);
+        }
+
+        private Deserializer(boolean primitive) {
+            super(Long.class);
+            this.primitive = primitive;
+        }
+
+        /**
+         * A primitive long property reads a missing or null amount as 0, a boxed one keeps it null.
+         */
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext context, BeanProperty property) {
+            final boolean primitiveProperty = property != null && property.getType().isPrimitive();
+            return primitiveProperty == primitive ? this : new Deserializer(primitiveProperty);
+        }
+
+        @Override
+        public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            final JsonToken token = parser.currentToken();
+
+            if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+                return (Long) context.handleUnexpectedToken(Long.class, parser);
+            }
+            try {
+                return token == JsonToken.VALUE_NUMBER_INT
+                        ? Math.multiplyExact(parser.getLongValue(), 100L)
+                        : parse(parser.getDecimalValue());
+            } catch (ArithmeticException | IOException e) {
+                return (Long) context.handleWeirdNumberValue(Long.class, parser.getNumberValue(),
+                        "amount must have at most two decimals and fit in a long count of cents");
+            }
+        }
+
+        @Override
+        public Long getNullValue(DeserializationContext context) {
+            return primitive ? 0L : null;
+        }
+    }
+}
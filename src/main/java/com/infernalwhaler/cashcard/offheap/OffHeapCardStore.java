@@ -0,0 +1,471 @@
+package com.infernalwhaler.cashcard.offheap;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongConsumer;
+
+/**
+ * All cards packed in direct memory, 24 bytes each and no object per card.
+ * <p>
+ * A card lives at the slot of its id in chunks of 2^20 slots allocated as ids grow, so a lookup is one shift, one
+ * mask and three absolute reads: {@code [amount long][version long][owner int][padding int]}. Owners are interned
+ * to an int, 0 marking an empty slot, and each owner keeps its cards sorted by (amount, id) in blocks of at most
+ * 512 primitive pairs, so a cursor page is two binary searches and a copy of the cards it holds. A write that
+ * changes an amount shifts within one block, whatever the number of cards of the owner, and appending past the
+ * last card, as the sorted snapshot load does, fills blocks without shifting at all.
+ * <p>
+ * Reads are optimistic: they validate a {@link StampedLock} stamp instead of taking a lock, and only fall back to the
+ * read lock when a write raced them. Writes are serialized by the write lock.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class OffHeapCardStore {
+
+    static final int RECORD_BYTES = 24;
+    private static final int AMOUNT = 0;
+    private static final int VERSION = 8;
+    private static final int OWNER = 16;
+
+    private static final int CHUNK_SHIFT = 20;
+    private static final int SLOTS_PER_CHUNK = 1 << CHUNK_SHIFT;
+    private static final int SLOT_MASK = SLOTS_PER_CHUNK - 1;
+
+    private final StampedLock lock = new StampedLock();
+    private volatile boolean loaded;
+
+    // guarded by lock
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+    private final Map<String, Integer> ownerIds = new HashMap<>();
+    // copied on write, so an optimistic read never sees it half grown
+    private String[] owners = new String[0];
+    private final List<OwnerCards> ownerCards = new ArrayList<>();
+    private long size;
+
+    /**
+     * @return whether the snapshot of the database has been loaded, reads are only served from the store after that.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    void markLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * @return the card, or null when there is none with this id.
+     */
+    public CashCard get(long id) {
+        long stamp = lock.tryOptimisticRead();
+        CashCard cashCard = read(id);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                cashCard = read(id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return cashCard;
+    }
+
+    /**
+     * @return the card, or null when there is none with this id or it belongs to another owner.
+     */
+    public CashCard get(long id, String owner) {
+        final CashCard cashCard = get(id);
+        return cashCard != null && cashCard.owner().equals(owner) ? cashCard : null;
+    }
+
+    /**
+     * Allocation-free variant of {@link #get(long, String)} for conditional requests.
+     *
+     * @return the version of the card, or -1 when there is none with this id or it belongs to another owner.
+     */
+    public long version(long id, String owner) {
+        long stamp = lock.tryOptimisticRead();
+        long version = readVersion(id, owner);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                version = readVersion(id, owner);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return version;
+    }
+
+    /**
+     * @return up to {@code limit} cards of the owner in (amount, id) order, or the reverse, skipping the first
+     * {@code offset}. Skipping walks the block sizes, one int per 512 cards.
+     */
+    public List<CashCard> findByOwner(String owner, long offset, int limit, boolean descending) {
+        final long stamp = lock.readLock();
+        try {
+            final List<CashCard> cashCards = new ArrayList<>();
+            final OwnerCards cards = ownerCardsOrNull(owner);
+            if (cards != null) {
+                cards.forEach(offset, limit, descending, id -> cashCards.add(read(id)));
+            }
+            return cashCards;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return up to {@code limit} cards of the owner in (amount, id) order, starting after the given amount and id.
+     */
+    public List<CashCard> findByOwnerAfter(String owner, long amount, long id, int limit) {
+        final long stamp = lock.readLock();
+        try {
+            final List<CashCard> cashCards = new ArrayList<>();
+            final OwnerCards cards = ownerCardsOrNull(owner);
+            if (cards != null) {
+                cards.forEachAfter(amount, id, limit, cardId -> cashCards.add(read(cardId)));
+            }
+            return cashCards;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Inserts or replaces the card at its id, moving it between owners if its owner changed.
+     */
+    public void put(CashCard cashCard) {
+        final long id = cashCard.id();
+        final long stamp = lock.writeLock();
+        try {
+            final ByteBuffer chunk = chunkFor(id);
+            final int offset = offset(id);
+            final int ownerId = intern(cashCard.owner());
+            final int previousOwner = chunk.getInt(offset + OWNER) - 1;
+            final long previousAmount = chunk.getLong(offset + AMOUNT);
+
+            if (previousOwner != ownerId || previousAmount != cashCard.amount()) {
+                if (previousOwner >= 0) {
+                    ownerCards.get(previousOwner).remove(previousAmount, id);
+                } else {
+                    size++;
+                }
+                chunk.putInt(offset + OWNER, ownerId + 1);
+                ownerCards.get(ownerId).add(cashCard.amount(), id);
+            }
+            chunk.putLong(offset + AMOUNT, cashCard.amount());
+            chunk.putLong(offset + VERSION, cashCard.version() == null ? 0 : cashCard.version());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(long id) {
+        final long stamp = lock.writeLock();
+        try {
+            final ByteBuffer chunk = chunkOrNull(id);
+            if (chunk == null) {
+                return;
+            }
+            final int offset = offset(id);
+            final int ownerId = chunk.getInt(offset + OWNER) - 1;
+            if (ownerId < 0) {
+                return;
+            }
+            ownerCards.get(ownerId).remove(chunk.getLong(offset + AMOUNT), id);
+            chunk.putInt(offset + OWNER, 0);
+            size--;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Empties every slot, keeping the memory already allocated.
+     */
+    public void clear() {
+        final long stamp = lock.writeLock();
+        try {
+            for (ByteBuffer chunk : chunks) {
+                if (chunk != null) {
+                    for (int offset = 0; offset < chunk.capacity(); offset += RECORD_BYTES) {
+                        chunk.putInt(offset + OWNER, 0);
+                    }
+                }
+            }
+            ownerCards.forEach(OwnerCards::clear);
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public long size() {
+        final long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return the direct memory held by the card slots.
+     */
+    public long offHeapBytes() {
+        final long stamp = lock.readLock();
+        try {
+            return Arrays.stream(chunks).filter(Objects::nonNull).mapToLong(ByteBuffer::capacity).sum();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Tolerates being called while a write changes the chunks, the caller validates its stamp afterwards.
+     */
+    private CashCard read(long id) {
+        final ByteBuffer chunk = chunkOrNull(id);
+        if (chunk == null) {
+            return null;
+        }
+        final int offset = offset(id);
+        final int ownerId = chunk.getInt(offset + OWNER) - 1;
+        final String[] knownOwners = owners;
+        if (ownerId < 0 || ownerId >= knownOwners.length) {
+            return null;
+        }
+        return new CashCard(id, chunk.getLong(offset + AMOUNT), knownOwners[ownerId], chunk.getLong(offset + VERSION));
+    }
+
+    private long readVersion(long id, String owner) {
+        final ByteBuffer chunk = chunkOrNull(id);
+        if (chunk == null) {
+            return -1;
+        }
+        final int offset = offset(id);
+        final int ownerId = chunk.getInt(offset + OWNER) - 1;
+        final String[] knownOwners = owners;
+        if (ownerId < 0 || ownerId >= knownOwners.length || !knownOwners[ownerId].equals(owner)) {
+            return -1;
+        }
+        return chunk.getLong(offset + VERSION);
+    }
+
+    private ByteBuffer chunkOrNull(long id) {
+        final ByteBuffer[] current = chunks;
+        final long chunkIndex = id >>> CHUNK_SHIFT;
+        return id > 0 && chunkIndex < current.length ? current[(int) chunkIndex] : null;
+    }
+
+    private ByteBuffer chunkFor(long id) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("Card ids start at 1, was " + id);
+        }
+        final int chunkIndex = Math.toIntExact(id >>> CHUNK_SHIFT);
+        if (chunkIndex >= chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(chunkIndex + 1, chunks.length * 2));
+        }
+        if (chunks[chunkIndex] == null) {
+            chunks[chunkIndex] = ByteBuffer.allocateDirect(SLOTS_PER_CHUNK * RECORD_BYTES).order(ByteOrder.nativeOrder());
+        }
+        return chunks[chunkIndex];
+    }
+
+    private static int offset(long id) {
+        return (int) (id & SLOT_MASK) * RECORD_BYTES;
+    }
+
+    private int intern(String owner) {
+        return ownerIds.computeIfAbsent(owner, key -> {
+            owners = Arrays.copyOf(owners, owners.length + 1);
+            owners[owners.length - 1] = key;
+            ownerCards.add(new OwnerCards());
+            return owners.length - 1;
+        });
+    }
+
+    private OwnerCards ownerCardsOrNull(String owner) {
+        final Integer ownerId = ownerIds.get(owner);
+        return ownerId == null ? null : ownerCards.get(ownerId);
+    }
+
+    /**
+     * The cards of one owner sorted by (amount, id), in a list of sorted blocks. A full block splits in two, unless
+     * the card goes past the last one, then a new block starts, so a sorted load leaves the blocks full.
+     */
+    private static final class OwnerCards {
+
+        private static final int BLOCK_SIZE = 512;
+
+        private final List<Block> blocks = new ArrayList<>();
+
+        void add(long amount, long id) {
+            if (blocks.isEmpty()) {
+                blocks.add(new Block());
+            }
+            final int index = blockFor(amount, id);
+            Block block = blocks.get(index);
+            if (block.size == BLOCK_SIZE) {
+                if (index == blocks.size() - 1 && block.compareToLast(amount, id) > 0) {
+                    block = new Block();
+                    blocks.add(block);
+                } else {
+                    final Block upper = block.split();
+                    blocks.add(index + 1, upper);
+                    if (block.compareToLast(amount, id) > 0) {
+                        block = upper;
+                    }
+                }
+            }
+            block.insert(-block.search(amount, id) - 1, amount, id);
+        }
+
+        void remove(long amount, long id) {
+            final int index = blockFor(amount, id);
+            final Block block = blocks.get(index);
+            block.remove(block.search(amount, id));
+            if (block.size == 0) {
+                blocks.remove(index);
+            }
+        }
+
+        void clear() {
+            blocks.clear();
+        }
+
+        void forEach(long offset, int limit, boolean descending, LongConsumer consumer) {
+            long skip = offset;
+            int remaining = limit;
+            for (int i = 0; i < blocks.size() && remaining > 0; i++) {
+                final Block block = blocks.get(descending ? blocks.size() - 1 - i : i);
+                if (skip >= block.size) {
+                    skip -= block.size;
+                    continue;
+                }
+                for (int position = (int) skip; position < block.size && remaining > 0; position++, remaining--) {
+                    consumer.accept(block.ids[descending ? block.size - 1 - position : position]);
+                }
+                skip = 0;
+            }
+        }
+
+        void forEachAfter(long amount, long id, int limit, LongConsumer consumer) {
+            if (blocks.isEmpty()) {
+                return;
+            }
+            int index = blockFor(amount, id);
+            final int search = blocks.get(index).search(amount, id);
+            int position = search >= 0 ? search + 1 : -search - 1;
+            int remaining = limit;
+            for (; index < blocks.size() && remaining > 0; index++, position = 0) {
+                final Block block = blocks.get(index);
+                for (; position < block.size && remaining > 0; position++, remaining--) {
+                    consumer.accept(block.ids[position]);
+                }
+            }
+        }
+
+        /**
+         * @return the first block whose last card is not below the given one, or the last block.
+         */
+        private int blockFor(long amount, long id) {
+            int low = 0;
+            int high = blocks.size() - 1;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (blocks.get(middle).compareToLast(amount, id) > 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Up to {@link OwnerCards#BLOCK_SIZE} cards as parallel arrays sorted by (amount, id), grown as cards arrive so
+     * that owners of a few cards stay small.
+     */
+    private static final class Block {
+
+        private long[] amounts = new long[8];
+        private long[] ids = new long[8];
+        private int size;
+
+        void insert(int position, long amount, long id) {
+            if (size == ids.length) {
+                amounts = Arrays.copyOf(amounts, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(amounts, position, amounts, position + 1, size - position);
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            amounts[position] = amount;
+            ids[position] = id;
+            size++;
+        }
+
+        void remove(int position) {
+            System.arraycopy(amounts, position + 1, amounts, position, size - position - 1);
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+
+        /**
+         * Moves the upper half of the cards to a new block.
+         */
+        Block split() {
+            final Block upper = new Block();
+            final int half = size / 2;
+            upper.amounts = Arrays.copyOfRange(amounts, half, amounts.length);
+            upper.ids = Arrays.copyOfRange(ids, half, ids.length);
+            upper.size = size - half;
+            size = half;
+            return upper;
+        }
+
+        /**
+         * @return a positive number when the given card sorts after the last card of the block.
+         */
+        int compareToLast(long amount, long id) {
+            return compare(amount, id, amounts[size - 1], ids[size - 1]);
+        }
+
+        /**
+         * @return the position of the card, or {@code -(insertion point) - 1} like {@link Arrays#binarySearch}.
+         */
+        int search(long amount, long id) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                final int comparison = compare(amounts[middle], ids[middle], amount, id);
+                if (comparison < 0) {
+                    low = middle + 1;
+                } else if (comparison > 0) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private static int compare(long amount, long id, long otherAmount, long otherId) {
+            return amount != otherAmount ? Long.compare(amount, otherAmount) : Long.compare(id, otherId);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.infernalwhaler.cashcard.offheap;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.model.CashCardCursor;
+import com.infernalwhaler.cashcard.model.CashCardOperationResult;
+import com.infernalwhaler.cashcard.repository.CashCardRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * {@link CashCardRepository} in front of the database repository: reads are answered by the {@link OffHeapCardStore},
+ * writes go to the database first and are then copied into the store.
+ * <p>
+ * A write and the store update that follows it hold the lock of the card's stripe, so two writes to the same card
+ * reach the store in the order they committed. Writes that do not return the card, and batches, re-read it from the
+ * database under that lock instead of guessing its new state. An import streams the owner's cards once and copies
+ * in those the store does not hold yet. Until the snapshot is loaded every read goes to the
+ * database, as does a paged read in any order but the store's (amount, id) index, ascending or descending.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class OffHeapCashCardRepository implements InvocationHandler {
+
+    private static final int STRIPES = 64;
+
+    private final CashCardRepository delegate;
+    private final OffHeapCardStore store;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    OffHeapCashCardRepository(CashCardRepository delegate, OffHeapCardStore store) {
+        this.delegate = delegate;
+        this.store = store;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            stripes[stripe] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (store.isLoaded()) {
+            switch (method.getName()) {
+                case "findByIdAndOwner":
+                    return store.get((Long) args[0], (String) args[1]);
+                case "existsByIdAndOwner":
+                    return store.version((Long) args[0], (String) args[1]) >= 0;
+                case "findVersionByIdAndOwner": {
+                    final long version = store.version((Long) args[0], (String) args[1]);
+                    return version < 0 ? null : version;
+                }
+                case "findById":
+                    return Optional.ofNullable(store.get((Long) args[0]));
+                case "existsById":
+                    return store.get((Long) args[0]) != null;
+                case "count":
+                    return store.size();
+                case "findByOwner":
+                    if (isIndexOrder(((PageRequest) args[1]).getSort())) {
+                        return findByOwner((String) args[0], (PageRequest) args[1]);
+                    }
+                    break;
+                case "findByOwnerAfter":
+                    return findByOwnerAfter((String) args[0], (CashCardCursor) args[1], (Integer) args[2]);
+                default:
+                    break;
+            }
+        }
+
+        switch (method.getName()) {
+            case "save": {
+                final CashCard cashCard = (CashCard) args[0];
+                return cashCard.id() == null ? put(call(method, args)) : locked(cashCard.id(), () -> put(call(method, args)));
+            }
+            case "saveAll": {
+                final Iterable<?> saved = (Iterable<?>) call(method, args);
+                saved.forEach(cashCard -> refresh(((CashCard) cashCard).id()));
+                return saved;
+            }
+            case "debit", "credit":
+                return locked((Long) args[0], () -> {
+                    final CashCard cashCard = (CashCard) call(method, args);
+                    return cashCard == null ? null : put(cashCard);
+                });
+            case "updateAmountByIdAndOwner", "updateAmountByIdAndOwnerAndVersion",
+                 "deleteByIdAndOwner", "deleteByIdAndOwnerAndVersion":
+                return locked((Long) args[0], () -> {
+                    final int rows = (Integer) call(method, args);
+                    if (rows > 0) {
+                        refreshLocked((Long) args[0]);
+                    }
+                    return rows;
+                });
+            case "deleteById":
+                return locked((Long) args[0], () -> {
+                    call(method, args);
+                    store.remove((Long) args[0]);
+                    return null;
+                });
+            case "delete":
+                return locked(((CashCard) args[0]).id(), () -> {
+                    call(method, args);
+                    store.remove(((CashCard) args[0]).id());
+                    return null;
+                });
+            case "deleteAllById": {
+                call(method, args);
+                ((Iterable<?>) args[0]).forEach(id -> refresh((Long) id));
+                return null;
+            }
+            case "deleteAll": {
+                call(method, args);
+                if (args == null || args.length == 0) {
+                    store.clear();
+                } else {
+                    ((Iterable<?>) args[0]).forEach(cashCard -> refresh(((CashCard) cashCard).id()));
+                }
+                return null;
+            }
+            case "applyBatch": {
+                @SuppressWarnings("unchecked") final List<CashCardOperationResult> results = (List<CashCardOperationResult>) call(method, args);
+                for (CashCardOperationResult result : results) {
+                    if (result.status() == HttpStatus.CREATED.value() || result.status() == HttpStatus.NO_CONTENT.value()) {
+                        refresh(result.id());
+                    }
+                }
+                return results;
+            }
+            case "importCards": {
+                final Object result = call(method, args);
+                // checked under the stripe lock, so a write that raced the export is not overwritten by the older row
+                delegate.exportByOwner((String) args[0], cashCard -> locked(cashCard.id(), () -> {
+                    if (store.get(cashCard.id()) == null) {
+                        store.put(cashCard);
+                    }
+                    return null;
+                }));
+                return result;
+            }
+            default:
+                return call(method, args);
+        }
+    }
+
+    private Slice<CashCard> findByOwner(String owner, PageRequest pageRequest) {
+        final boolean descending = pageRequest.getSort().stream().anyMatch(Sort.Order::isDescending);
+        final List<CashCard> cashCards = store.findByOwner(owner, pageRequest.getOffset(), pageRequest.getPageSize() + 1, descending);
+
+        return slice(cashCards, pageRequest);
+    }
+
+    private Slice<CashCard> findByOwnerAfter(String owner, CashCardCursor cursor, int size) {
+        final List<CashCard> cashCards = cursor == null
+                ? store.findByOwner(owner, 0, size + 1, false)
+                : store.findByOwnerAfter(owner, cursor.amount(), cursor.id(), size + 1);
+
+        return slice(cashCards, PageRequest.of(0, size, Sort.by("amount", "id")));
+    }
+
+    /**
+     * The store is asked for one card more than the page holds, to tell whether there is a next page.
+     */
+    private static Slice<CashCard> slice(List<CashCard> cashCards, PageRequest pageRequest) {
+        final boolean hasNext = cashCards.size() > pageRequest.getPageSize();
+        return new SliceImpl<>(List.copyOf(hasNext ? cashCards.subList(0, pageRequest.getPageSize()) : cashCards), pageRequest, hasNext);
+    }
+
+    /**
+     * @return whether the sort is amount, optionally then id in the same direction, the order the store keeps.
+     */
+    private static boolean isIndexOrder(Sort sort) {
+        final List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return true;
+        }
+        final Sort.Order first = orders.getFirst();
+        return "amount".equals(first.getProperty())
+                && (orders.size() == 1 || orders.size() == 2
+                && "id".equals(orders.get(1).getProperty()) && orders.get(1).getDirection() == first.getDirection());
+    }
+
+    private CashCard put(Object saved) {
+        final CashCard cashCard = (CashCard) saved;
+        store.put(cashCard);
+        return cashCard;
+    }
+
+    private void refresh(Long id) {
+        locked(id, () -> {
+            refreshLocked(id);
+            return null;
+        });
+    }
+
+    private void refreshLocked(Long id) {
+        delegate.findById(id).ifPresentOrElse(store::put, () -> store.remove(id));
+    }
+
+    private <T> T locked(Long id, Supplier<T> write) {
+        final ReentrantLock stripe = stripes[(int) Math.floorMod(id, (long) STRIPES)];
+        stripe.lock();
+        try {
+            return write.get();
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    private Object call(Method method, Object[] args) {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new IllegalStateException(e.getTargetException());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
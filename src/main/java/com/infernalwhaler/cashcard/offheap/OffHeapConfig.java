@@ -0,0 +1,82 @@
+package com.infernalwhaler.cashcard.offheap;
+
+import com.infernalwhaler.cashcard.repository.CashCardRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+
+/**
+ * In-memory serving mode, only installed with {@code cashcard.offheap.enabled=true}: every card is held off-heap and
+ * {@link CashCardRepository} reads no longer reach the database, which stays the durable copy.
+ * <p>
+ * Size the direct memory for 24 bytes per id up to the highest id, e.g. {@code -XX:MaxDirectMemorySize=3g} for 100M cards.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@Configuration
+@ConditionalOnProperty(prefix = "cashcard.offheap", name = "enabled", havingValue = "true")
+public class OffHeapConfig {
+
+    @Bean
+    OffHeapCardStore offHeapCardStore(Environment environment) {
+        // both write cash_card around the repository, or hold cards the snapshot would not see
+        if (environment.getProperty("cashcard.journal.enabled", Boolean.class, false)
+                || environment.getProperty("cashcard.sharding.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("cashcard.offheap.enabled cannot be combined with the write journal or sharding");
+        }
+        return new OffHeapCardStore();
+    }
+
+    /**
+     * Wraps the repository after the cache and transaction proxies, so database writes keep their cache evictions.
+     */
+    @Bean
+    static BeanPostProcessor offHeapRepository(ObjectProvider<OffHeapCardStore> offHeapCardStore) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CashCardRepository repository && !isOffHeap(bean)) {
+                    return Proxy.newProxyInstance(CashCardRepository.class.getClassLoader(),
+                            new Class<?>[]{CashCardRepository.class},
+                            new OffHeapCashCardRepository(repository, offHeapCardStore.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static boolean isOffHeap(Object bean) {
+        return Proxy.isProxyClass(bean.getClass()) && Proxy.getInvocationHandler(bean) instanceof OffHeapCashCardRepository;
+    }
+
+    @Bean
+    OffHeapSnapshotLoader offHeapSnapshotLoader(OffHeapCardStore offHeapCardStore, DataSource dataSource,
+                                                @Value("${cashcard.offheap.fetch-size:10000}") int fetchSize) {
+        return new OffHeapSnapshotLoader(offHeapCardStore, dataSource, fetchSize);
+    }
+
+    @Bean
+    MeterBinder offHeapMetrics(OffHeapCardStore offHeapCardStore) {
+        return registry -> {
+            Gauge.builder("cashcard.offheap.cards", offHeapCardStore, OffHeapCardStore::size)
+                    .description("Cards held in the off-heap store")
+                    .register(registry);
+            Gauge.builder("cashcard.offheap.bytes", offHeapCardStore, OffHeapCardStore::offHeapBytes)
+                    .description("Direct memory held by the off-heap store")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+}
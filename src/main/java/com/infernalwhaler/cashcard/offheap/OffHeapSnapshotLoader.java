@@ -0,0 +1,68 @@
+package com.infernalwhaler.cashcard.offheap;
+
+import com.infernalwhaler.cashcard.repository.CashCardRowMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Loads every card from the database into the {@link OffHeapCardStore} before the web server takes requests.
+ * <p>
+ * Cards come in the order of the (owner, amount, id) index, so each one goes past the last card of its owner and
+ * the store appends it to the owner's blocks instead of shifting them.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class OffHeapSnapshotLoader implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OffHeapSnapshotLoader.class);
+
+    private static final String SELECT_ALL = "SELECT id, amount, owner, version FROM cash_card ORDER BY owner, amount, id";
+
+    private final OffHeapCardStore store;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean running;
+
+    OffHeapSnapshotLoader(OffHeapCardStore store, DataSource dataSource, int fetchSize) {
+        this.store = store;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    public void start() {
+        final long start = System.nanoTime();
+        jdbcTemplate.query(SELECT_ALL, resultSet -> {
+            store.put(CashCardRowMapper.INSTANCE.mapRow(resultSet, 0));
+        });
+        store.markLoaded();
+        running = true;
+        log.info("Loaded {} cash cards into {} MB off-heap in {} ms", store.size(), store.offHeapBytes() >> 20,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Below the web server, like the journal applier: loaded before the first request.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,25 @@
+package com.infernalwhaler.cashcard.repository;
+
+import com.infernalwhaler.cashcard.model.CashCardOperation;
+import com.infernalwhaler.cashcard.model.CashCardOperationResult;
+
+import java.util.List;
+
+/**
+ * Custom fragment of {@link CashCardRepository} for set-wise writes.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public interface CashCardBatchRepository {
+
+    /**
+     * Applies the operations in order, as JDBC batches in chunked transactions.
+     * Every UPDATE and DELETE is scoped to the owner, so cards of other owners are reported as not found.
+     *
+     * @return one result per operation, in request order.
+     */
+    List<CashCardOperationResult> applyBatch(List<CashCardOperation> operations, String owner);
+}
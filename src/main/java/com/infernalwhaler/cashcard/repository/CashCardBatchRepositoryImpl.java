@@ -0,0 +1,138 @@
+package com.infernalwhaler.cashcard.repository;
+
+import com.infernalwhaler.cashcard.model.CashCardOperation;
+import com.infernalwhaler.cashcard.model.CashCardOperationResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link CashCardBatchRepository}.
+ * <p>
+ * Each chunk runs in its own transaction. Inside a chunk, consecutive operations of the same type become one JDBC batch,
+ * which keeps the request order while sending one round trip per run instead of one per item.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class CashCardBatchRepositoryImpl implements CashCardBatchRepository {
+
+    private static final String INSERT = "INSERT INTO cash_card (amount, owner) VALUES (:amount, :owner)";
+    private static final String UPDATE = "UPDATE cash_card SET amount = :amount, version = version + 1 WHERE id = :id AND owner = :owner";
+    private static final String DELETE = "DELETE FROM cash_card WHERE id = :id AND owner = :owner";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache cashCardCache;
+    private final int chunkSize;
+
+    CashCardBatchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                CacheManager cacheManager,
+                                @Value("${cashcard.batch.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cashCardCache = cacheManager.getCache(CashCardRepository.CASH_CARDS_CACHE);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public List<CashCardOperationResult> applyBatch(List<CashCardOperation> operations, String owner) {
+        final CashCardOperationResult[] results = new CashCardOperationResult[operations.size()];
+
+        for (int chunkStart = 0; chunkStart < operations.size(); chunkStart += chunkSize) {
+            final int from = chunkStart;
+            final int to = Math.min(operations.size(), chunkStart + chunkSize);
+            transactionTemplate.executeWithoutResult(status -> applyChunk(operations, from, to, owner, results));
+            evictWritten(results, from, to, owner);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Same "id:owner" keys as the cache annotations of {@link CashCardRepository}, created ids included
+     * since a not-found answer for them may already be cached.
+     */
+    private void evictWritten(CashCardOperationResult[] results, int from, int to, String owner) {
+        if (cashCardCache == null) {
+            return;
+        }
+        for (int index = from; index < to; index++) {
+            final CashCardOperationResult result = results[index];
+            if (result.status() == HttpStatus.CREATED.value() || result.status() == HttpStatus.NO_CONTENT.value()) {
+                cashCardCache.evict(result.id() + ":" + owner);
+            }
+        }
+    }
+
+    private void applyChunk(List<CashCardOperation> operations, int from, int to, String owner, CashCardOperationResult[] results) {
+        int runStart = from;
+        while (runStart < to) {
+            final CashCardOperation.Type type = operations.get(runStart).op();
+            int runEnd = runStart + 1;
+            while (runEnd < to && operations.get(runEnd).op() == type) {
+                runEnd++;
+            }
+            applyRun(operations, runStart, runEnd, owner, results);
+            runStart = runEnd;
+        }
+    }
+
+    private void applyRun(List<CashCardOperation> operations, int from, int to, String owner, CashCardOperationResult[] results) {
+        final List<Integer> indexes = new ArrayList<>(to - from);
+        final List<SqlParameterSource> parameters = new ArrayList<>(to - from);
+
+        for (int index = from; index < to; index++) {
+            final CashCardOperation operation = operations.get(index);
+            if (!operation.isValid()) {
+                results[index] = new CashCardOperationResult(index, operation.id(), HttpStatus.BAD_REQUEST.value());
+                continue;
+            }
+            indexes.add(index);
+            parameters.add(new MapSqlParameterSource()
+                    .addValue("id", operation.id())
+                    .addValue("amount", operation.amount())
+                    .addValue("owner", owner));
+        }
+        if (indexes.isEmpty()) {
+            return;
+        }
+
+        final SqlParameterSource[] batch = parameters.toArray(SqlParameterSource[]::new);
+        switch (operations.get(from).op()) {
+            case CREATE -> {
+                final GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+                jdbcTemplate.batchUpdate(INSERT, batch, keyHolder, new String[]{"id"});
+                final List<Map<String, Object>> keys = keyHolder.getKeyList();
+                for (int i = 0; i < indexes.size(); i++) {
+                    final Number id = (Number) keys.get(i).values().iterator().next();
+                    results[indexes.get(i)] = new CashCardOperationResult(indexes.get(i), id.longValue(), HttpStatus.CREATED.value());
+                }
+            }
+            case UPDATE -> recordCounts(operations, indexes, jdbcTemplate.batchUpdate(UPDATE, batch), results);
+            case DELETE -> recordCounts(operations, indexes, jdbcTemplate.batchUpdate(DELETE, batch), results);
+        }
+    }
+
+    private static void recordCounts(List<CashCardOperation> operations, List<Integer> indexes, int[] counts, CashCardOperationResult[] results) {
+        for (int i = 0; i < indexes.size(); i++) {
+            final int index = indexes.get(i);
+            final HttpStatus status = counts[i] == 0 ? HttpStatus.NOT_FOUND : HttpStatus.NO_CONTENT;
+            results[index] = new CashCardOperationResult(index, operations.get(index).id(), status.value());
+        }
+    }
+}
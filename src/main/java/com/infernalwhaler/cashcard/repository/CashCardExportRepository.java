@@ -0,0 +1,23 @@
+package com.infernalwhaler.cashcard.repository;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+
+import java.util.function.Consumer;
+
+/**
+ * Custom fragment of {@link CashCardRepository} for streaming an owner's whole portfolio.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public interface CashCardExportRepository {
+
+    /**
+     * Hands every card of the owner to the consumer, in id order, straight from a JDBC cursor.
+     * Cards are never collected; how many rows the driver buffers depends on the database, see
+     * {@code CashCardExportRepositoryImpl}.
+     */
+    void exportByOwner(String owner, Consumer<CashCard> consumer);
+}
@@ -0,0 +1,41 @@
+package com.infernalwhaler.cashcard.repository;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.function.Consumer;
+
+/**
+ * JDBC implementation of {@link CashCardExportRepository}.
+ * <p>
+ * The fetch size only bounds the rows a client/server driver holds per round trip. Embedded H2 ignores it: a result
+ * larger than its MAX_MEMORY_ROWS setting is spilled to a temporary file, which is what keeps the export bounded there.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class CashCardExportRepositoryImpl implements CashCardExportRepository {
+
+    private static final String EXPORT = "SELECT id, amount, owner, version FROM cash_card WHERE owner = :owner ORDER BY id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    CashCardExportRepositoryImpl(DataSource dataSource, @Value("${cashcard.export.fetch-size:500}") int fetchSize) {
+        final JdbcTemplate streamingTemplate = new JdbcTemplate(dataSource);
+        streamingTemplate.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streamingTemplate);
+    }
+
+    @Override
+    public void exportByOwner(String owner, Consumer<CashCard> consumer) {
+        jdbcTemplate.query(EXPORT, new MapSqlParameterSource("owner", owner),
+                (RowCallbackHandler) resultSet -> consumer.accept(CashCardRowMapper.INSTANCE.mapRow(resultSet, resultSet.getRow())));
+    }
+}
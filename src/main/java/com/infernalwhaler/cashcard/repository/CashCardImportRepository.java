@@ -0,0 +1,31 @@
+package com.infernalwhaler.cashcard.repository;
+
+import com.infernalwhaler.cashcard.model.CashCardImportFormat;
+import com.infernalwhaler.cashcard.model.CashCardImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Custom fragment of {@link CashCardRepository} for bulk loading cards from a file.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public interface CashCardImportRepository {
+
+    /**
+     * Creates one card of the owner per valid line, committing chunk by chunk together with the progress of the import.
+     * Lines already committed under the same import id are skipped, a completed import is not read again.
+     *
+     * @throws org.springframework.dao.OptimisticLockingFailureException when another request is running the same import.
+     */
+    CashCardImportResult importCards(String owner, String importId, CashCardImportFormat format, InputStream input) throws IOException;
+
+    /**
+     * @return the committed progress of the import, or null when the owner has none with this id.
+     */
+    CashCardImportResult findImport(String owner, String importId);
+}
@@ -0,0 +1,382 @@
+package com.infernalwhaler.cashcard.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.model.CashCardImportFormat;
+import com.infernalwhaler.cashcard.model.CashCardImportResult;
+import com.infernalwhaler.cashcard.model.CashCardImportResult.Rejection;
+import com.infernalwhaler.cashcard.model.MoneyJson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC implementation of {@link CashCardImportRepository}, a bounded three-stage pipeline.
+ * <ol>
+ *     <li>A reader thread cuts the file into chunks of lines and hands each one to the common pool for validation.</li>
+ *     <li>Chunks are validated in parallel, their futures queued in file order. At most {@code queue-depth} of them
+ *     wait for the writer, a reader that gets further ahead blocks, so heap use does not depend on the file size.</li>
+ *     <li>The calling thread writes the chunks in order, each in one transaction: its cards as multi-row INSERTs of
+ *     {@code insert-rows} rows, then the checkpoint of the import.</li>
+ * </ol>
+ * The checkpoint only moves from the line count the writer started from, so a second request running the same import
+ * fails instead of inserting the same lines twice. Writing on the calling thread keeps the shard bound to the call.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class CashCardImportRepositoryImpl implements CashCardImportRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(CashCardImportRepositoryImpl.class);
+
+    private static final int MAX_REJECTIONS = 100;
+    private static final Chunk END = new Chunk(0, new long[0], 0, List.of());
+
+    private static final String START = """
+            MERGE INTO cash_card_import i
+            USING (VALUES (CAST(:owner AS VARCHAR(256)), CAST(:id AS VARCHAR(64)))) v (owner, id) ON i.owner = v.owner AND i.id = v.id
+            WHEN NOT MATCHED THEN INSERT (owner, id) VALUES (v.owner, v.id)
+            """;
+    private static final String FIND = """
+            SELECT lines_read, cards_imported, lines_rejected, completed FROM cash_card_import WHERE owner = :owner AND id = :id
+            """;
+    private static final String CHECKPOINT = """
+            UPDATE cash_card_import
+            SET lines_read = :linesRead, cards_imported = cards_imported + :imported, lines_rejected = lines_rejected + :rejected
+            WHERE owner = :owner AND id = :id AND lines_read = :from AND NOT completed
+            """;
+    private static final String COMPLETE = """
+            UPDATE cash_card_import SET completed = TRUE WHERE owner = :owner AND id = :id AND lines_read = :linesRead
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache cashCardCache;
+    private final ObjectReader cashCardReader;
+    private final int chunkSize;
+    private final int insertRows;
+    private final int queueDepth;
+    private final String fullInsert;
+
+    CashCardImportRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 CacheManager cacheManager,
+                                 ObjectMapper objectMapper,
+                                 @Value("${cashcard.import.chunk-size:5000}") int chunkSize,
+                                 @Value("${cashcard.import.insert-rows:500}") int insertRows,
+                                 @Value("${cashcard.import.queue-depth:8}") int queueDepth) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cashCardCache = cacheManager.getCache(CashCardRepository.CASH_CARDS_CACHE);
+        this.cashCardReader = objectMapper.readerFor(CashCard.class);
+        this.chunkSize = chunkSize;
+        this.insertRows = insertRows;
+        this.queueDepth = queueDepth;
+        this.fullInsert = insert(insertRows);
+    }
+
+    @Override
+    public CashCardImportResult importCards(String owner, String importId, CashCardImportFormat format, InputStream input) throws IOException {
+        final MapSqlParameterSource key = new MapSqlParameterSource("owner", owner).addValue("id", importId);
+        final CashCardImportResult start = transactionTemplate.execute(status -> {
+            jdbcTemplate.update(START, key);
+            return findImport(owner, importId);
+        });
+        if (start.completed()) {
+            return start;
+        }
+
+        final BlockingQueue<CompletableFuture<Chunk>> chunks = new ArrayBlockingQueue<>(queueDepth);
+        final Reader reader = new Reader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024),
+                format, owner, start.linesRead(), chunks);
+        final Thread readerThread = Thread.ofVirtual().name("cashcard-import-" + importId).start(reader);
+
+        final List<Rejection> rejections = new ArrayList<>();
+        final long startNanos = System.nanoTime();
+        long linesRead = start.linesRead();
+        long imported = 0;
+        try {
+            for (Chunk chunk = take(chunks); chunk != END; chunk = take(chunks)) {
+                write(key, linesRead, chunk);
+                linesRead += chunk.lines();
+                imported += chunk.accepted();
+                chunk.rejections().stream().limit(MAX_REJECTIONS - rejections.size()).forEach(rejections::add);
+                log.debug("Import {} of {}: {} lines read", importId, owner, linesRead);
+            }
+            if (jdbcTemplate.update(COMPLETE, new MapSqlParameterSource(key.getValues()).addValue("linesRead", linesRead)) == 0) {
+                throw new OptimisticLockingFailureException("Import " + importId + " was moved by another request");
+            }
+        } finally {
+            // a stopped reader gives up within one offer timeout, or as soon as the line it is reading arrives
+            reader.stop();
+            joinQuietly(readerThread);
+        }
+
+        final double seconds = (System.nanoTime() - startNanos) / 1e9;
+        log.info("Import {} of {}: {} cards in {}s ({} cards/s)", importId, owner, imported,
+                String.format("%.1f", seconds), Math.round(imported / Math.max(seconds, 1e-3)));
+        final CashCardImportResult done = findImport(owner, importId);
+        return new CashCardImportResult(importId, done.linesRead(), done.cardsImported(), done.linesRejected(), true, rejections);
+    }
+
+    @Override
+    public CashCardImportResult findImport(String owner, String importId) {
+        final List<CashCardImportResult> found = jdbcTemplate.query(FIND,
+                new MapSqlParameterSource("owner", owner).addValue("id", importId),
+                (resultSet, rowNum) -> new CashCardImportResult(importId,
+                        resultSet.getLong("lines_read"),
+                        resultSet.getLong("cards_imported"),
+                        resultSet.getLong("lines_rejected"),
+                        resultSet.getBoolean("completed"),
+                        List.of()));
+        return found.isEmpty() ? null : found.getFirst();
+    }
+
+    private void write(MapSqlParameterSource key, long from, Chunk chunk) {
+        final long[] ids = transactionTemplate.execute(status -> {
+            final long[] created = insert(key.getValue("owner").toString(), chunk.amounts(), chunk.accepted());
+            final int moved = jdbcTemplate.update(CHECKPOINT, new MapSqlParameterSource(key.getValues())
+                    .addValue("from", from)
+                    .addValue("linesRead", from + chunk.lines())
+                    .addValue("imported", chunk.accepted())
+                    .addValue("rejected", chunk.rejections().size()));
+            if (moved == 0) {
+                status.setRollbackOnly();
+                return null;
+            }
+            return created;
+        });
+        if (ids == null) {
+            throw new OptimisticLockingFailureException("Import " + key.getValue("id") + " was moved by another request");
+        }
+        evictCreated(ids, key.getValue("owner").toString());
+    }
+
+    /**
+     * @return the generated ids, in row order.
+     */
+    private long[] insert(String owner, long[] amounts, int count) {
+        return jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<long[]>) connection -> {
+            final long[] ids = new long[count];
+            int generated = 0;
+            for (int from = 0; from < count; from += insertRows) {
+                final int rows = Math.min(insertRows, count - from);
+                try (PreparedStatement statement = connection.prepareStatement(rows == insertRows ? fullInsert : insert(rows), new String[]{"ID"})) {
+                    for (int row = 0; row < rows; row++) {
+                        statement.setLong(2 * row + 1, amounts[from + row]);
+                        statement.setString(2 * row + 2, owner);
+                    }
+                    statement.executeUpdate();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids[generated++] = keys.getLong(1);
+                        }
+                    }
+                }
+            }
+            return ids;
+        });
+    }
+
+    private static String insert(int rows) {
+        final StringBuilder sql = new StringBuilder("INSERT INTO cash_card (amount, owner) VALUES (?, ?)");
+        for (int row = 1; row < rows; row++) {
+            sql.append(", (?, ?)");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Same "id:owner" keys as the cache annotations of {@link CashCardRepository}, since a not-found answer for a new
+     * id may already be cached.
+     */
+    private void evictCreated(long[] ids, String owner) {
+        if (cashCardCache == null) {
+            return;
+        }
+        for (long id : ids) {
+            cashCardCache.evict(id + ":" + owner);
+        }
+    }
+
+    private static Chunk take(BlockingQueue<CompletableFuture<Chunk>> chunks) throws IOException {
+        try {
+            return chunks.take().join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while importing", e);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+    }
+
+    private static void joinQuietly(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param lines   lines of the file the chunk covers, blank and rejected ones included.
+     * @param amounts the amounts of the valid lines, the first {@code accepted} of them.
+     */
+    private record Chunk(int lines, long[] amounts, int accepted, List<Rejection> rejections) {
+
+    }
+
+    /**
+     * Reads the file past its header and the lines already imported, and queues the validation of every chunk.
+     */
+    private final class Reader implements Runnable {
+
+        private final BufferedReader input;
+        private final CashCardImportFormat format;
+        private final String owner;
+        private final long skip;
+        private final BlockingQueue<CompletableFuture<Chunk>> chunks;
+        private volatile boolean stopped;
+
+        private Reader(BufferedReader input, CashCardImportFormat format, String owner, long skip,
+                       BlockingQueue<CompletableFuture<Chunk>> chunks) {
+            this.input = input;
+            this.format = format;
+            this.owner = owner;
+            this.skip = skip;
+            this.chunks = chunks;
+        }
+
+        void stop() {
+            stopped = true;
+        }
+
+        @Override
+        public void run() {
+            try {
+                long lineNumber = 1;
+                String line = input.readLine();
+                if (line != null && format == CashCardImportFormat.CSV && line.strip().equalsIgnoreCase("amount")) {
+                    line = input.readLine();
+                    lineNumber++;
+                }
+                for (long skipped = 0; skipped < skip && line != null; skipped++) {
+                    line = input.readLine();
+                    lineNumber++;
+                }
+
+                while (line != null && !stopped) {
+                    final String[] lines = new String[chunkSize];
+                    int count = 0;
+                    while (count < chunkSize && line != null) {
+                        lines[count++] = line;
+                        line = input.readLine();
+                    }
+                    final long firstLine = lineNumber;
+                    final int chunkLines = count;
+                    lineNumber += count;
+                    offer(CompletableFuture.supplyAsync(() -> validate(firstLine, lines, chunkLines)));
+                }
+                offer(CompletableFuture.completedFuture(END));
+            } catch (IOException e) {
+                offer(CompletableFuture.failedFuture(new UncheckedIOException(e)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void offer(CompletableFuture<Chunk> chunk) throws InterruptedException {
+            while (!stopped) {
+                if (chunks.offer(chunk, 10, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        }
+
+        private Chunk validate(long firstLine, String[] lines, int count) {
+            final long[] amounts = new long[count];
+            final List<Rejection> rejections = new ArrayList<>();
+            int accepted = 0;
+
+            for (int index = 0; index < count; index++) {
+                final String line = lines[index].strip();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    amounts[accepted] = parse(line);
+                    accepted++;
+                } catch (IllegalArgumentException e) {
+                    rejections.add(new Rejection(firstLine + index, e.getMessage()));
+                }
+            }
+            return new Chunk(count, Arrays.copyOf(amounts, accepted), accepted, rejections);
+        }
+
+        /**
+         * @throws IllegalArgumentException with the reason the line is rejected.
+         */
+        private long parse(String line) {
+            final long amount;
+            try {
+                amount = switch (format) {
+                    case CSV -> MoneyJson.parse(new BigDecimal(unquote(line)));
+                    case NDJSON -> {
+                        final CashCard cashCard = cashCardReader.readValue(line);
+                        if (cashCard.owner() != null && !cashCard.owner().equals(owner)) {
+                            throw new IllegalArgumentException("owner must be the caller");
+                        }
+                        yield cashCard.amount();
+                    }
+                };
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("amount is not a decimal number");
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("amount must have at most two decimals and fit in a long count of cents");
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("malformed card: " + e.getOriginalMessage());
+            }
+            if (amount < 0) {
+                throw new IllegalArgumentException("amount must not be negative");
+            }
+            return amount;
+        }
+
+        private static String unquote(String value) {
+            return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"") ? value.substring(1, value.length() - 1).strip() : value;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.infernalwhaler.cashcard.repository;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.model.CashCardCursor;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Custom fragment of {@link CashCardRepository} for keyset (seek) pagination.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public interface CashCardKeysetRepository {
+
+    /**
+     * Reads the next cards of an owner in (amount, id) order, seeking past the cursor instead of skipping rows,
+     * so every page costs the same however deep it is. No count query is issued.
+     *
+     * @param cursor the last card of the previous page, or null for the first page.
+     */
+    Slice<CashCard> findByOwnerAfter(String owner, CashCardCursor cursor, int size);
+}
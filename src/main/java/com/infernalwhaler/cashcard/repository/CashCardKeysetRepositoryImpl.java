@@ -0,0 +1,62 @@
+package com.infernalwhaler.cashcard.repository;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.model.CashCardCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link CashCardKeysetRepository}, served by the (owner, amount, id) index.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class CashCardKeysetRepositoryImpl implements CashCardKeysetRepository {
+
+    private static final String FIRST_PAGE = """
+            SELECT id, amount, owner, version FROM cash_card
+            WHERE owner = :owner
+            ORDER BY amount, id
+            LIMIT :limit""";
+
+    // amount >= :amount gives the index a range start, the OR then skips the ties already returned
+    private static final String NEXT_PAGE = """
+            SELECT id, amount, owner, version FROM cash_card
+            WHERE owner = :owner
+              AND amount >= :amount
+              AND (amount > :amount OR id > :id)
+            ORDER BY amount, id
+            LIMIT :limit""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    CashCardKeysetRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Slice<CashCard> findByOwnerAfter(String owner, CashCardCursor cursor, int size) {
+        final MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("owner", owner)
+                .addValue("limit", size + 1);
+
+        if (cursor != null) {
+            parameters.addValue("amount", cursor.amount()).addValue("id", cursor.id());
+        }
+
+        final List<CashCard> cashCards = jdbcTemplate.query(cursor == null ? FIRST_PAGE : NEXT_PAGE, parameters, CashCardRowMapper.INSTANCE);
+        final boolean hasNext = cashCards.size() > size;
+
+        return new SliceImpl<>(hasNext ? cashCards.subList(0, size) : cashCards,
+                PageRequest.of(0, size, Sort.by("amount", "id")),
+                hasNext);
+    }
+}
@@ -0,0 +1,37 @@
+package com.infernalwhaler.cashcard.repository;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.model.CashCardLedgerCursor;
+import com.infernalwhaler.cashcard.model.CashCardLedgerEntry;
+import org.springframework.data.domain.Slice;
+
+import java.time.Instant;
+
+/**
+ * Custom fragment of {@link CashCardRepository} reading the ledger kept by {@link CashCardLedgerTrigger}.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public interface CashCardLedgerRepository {
+
+    /**
+     * Point-in-time read: the entry in force at {@code asOf} carries the balance, one index seek whatever the length
+     * of the history.
+     *
+     * @return the card as it was, or null when it did not exist yet, was deleted or belongs to another owner.
+     */
+    CashCard findByIdAndOwnerAsOf(Long id, String owner, Instant asOf);
+
+    /**
+     * Reads the next entries of a card in (recorded at, sequence) order, seeking past the cursor.
+     *
+     * @param from   first instant included, or null from the start.
+     * @param to     first instant excluded, or null up to now.
+     * @param cursor the last entry of the previous page, or null for the first page.
+     * @return the entries, or null when the owner never had the card.
+     */
+    Slice<CashCardLedgerEntry> findHistory(Long id, String owner, Instant from, Instant to, CashCardLedgerCursor cursor, int size);
+}
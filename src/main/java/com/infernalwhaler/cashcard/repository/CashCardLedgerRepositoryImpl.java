@@ -0,0 +1,107 @@
+package com.infernalwhaler.cashcard.repository;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.model.CashCardLedgerCursor;
+import com.infernalwhaler.cashcard.model.CashCardLedgerEntry;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link CashCardLedgerRepository}, served by the (card_id, recorded_at, id) index.
+ * <p>
+ * Every entry carries the balance it left behind, so each one is a snapshot of the card: a point-in-time read takes
+ * the last entry at or before the instant, with nothing to replay.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class CashCardLedgerRepositoryImpl implements CashCardLedgerRepository {
+
+    private static final String AS_OF = """
+            SELECT type, balance_after, version FROM cash_card_ledger
+            WHERE card_id = :id AND recorded_at <= :asOf AND owner = :owner
+            ORDER BY recorded_at DESC, id DESC
+            LIMIT 1""";
+
+    // recorded_at >= :start, the later of from and the cursor, gives the index a range start, the OR then skips the
+    // entries of the cursor's instant already returned
+    private static final String HISTORY = """
+            SELECT id, card_id, type, delta, balance_after, version, recorded_at FROM cash_card_ledger
+            WHERE card_id = :id AND owner = :owner
+              AND recorded_at >= :start AND recorded_at < :to
+              AND (recorded_at > :recordedAt OR recorded_at = :recordedAt AND id > :sequence)
+            ORDER BY recorded_at, id
+            LIMIT :limit""";
+
+    private static final String EXISTS = "SELECT EXISTS (SELECT 1 FROM cash_card_ledger WHERE card_id = :id AND owner = :owner)";
+
+    private static final OffsetDateTime START = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime END = OffsetDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final RowMapper<CashCardLedgerEntry> ROW_MAPPER = (resultSet, rowNum) -> new CashCardLedgerEntry(
+            resultSet.getLong("id"),
+            resultSet.getLong("card_id"),
+            CashCardLedgerEntry.Type.valueOf(resultSet.getString("type")),
+            resultSet.getLong("delta"),
+            resultSet.getLong("balance_after"),
+            resultSet.getLong("version"),
+            resultSet.getObject("recorded_at", OffsetDateTime.class).toInstant());
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    CashCardLedgerRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public CashCard findByIdAndOwnerAsOf(Long id, String owner, Instant asOf) {
+        final List<CashCard> cashCards = jdbcTemplate.query(AS_OF, new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("owner", owner)
+                        .addValue("asOf", utc(asOf)),
+                (resultSet, rowNum) -> "DELETE".equals(resultSet.getString("type"))
+                        ? null
+                        : new CashCard(id, resultSet.getLong("balance_after"), owner, resultSet.getLong("version")));
+        return cashCards.isEmpty() ? null : cashCards.getFirst();
+    }
+
+    @Override
+    public Slice<CashCardLedgerEntry> findHistory(Long id, String owner, Instant from, Instant to, CashCardLedgerCursor cursor, int size) {
+        final OffsetDateTime lowerBound = from == null ? START : utc(from);
+        final OffsetDateTime recordedAt = cursor == null ? lowerBound : utc(cursor.recordedAt());
+        final MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("owner", owner)
+                .addValue("start", recordedAt.isAfter(lowerBound) ? recordedAt : lowerBound)
+                .addValue("to", to == null ? END : utc(to))
+                .addValue("recordedAt", recordedAt)
+                .addValue("sequence", cursor == null ? -1 : cursor.sequence())
+                .addValue("limit", size + 1);
+
+        final List<CashCardLedgerEntry> entries = jdbcTemplate.query(HISTORY, parameters, ROW_MAPPER);
+        if (entries.isEmpty() && cursor == null && !jdbcTemplate.queryForObject(EXISTS, parameters, Boolean.class)) {
+            return null;
+        }
+        final boolean hasNext = entries.size() > size;
+
+        return new SliceImpl<>(hasNext ? entries.subList(0, size) : entries,
+                PageRequest.of(0, size, Sort.by("recordedAt", "sequence")),
+                hasNext);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,86 @@
+package com.infernalwhaler.cashcard.repository;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * H2 row trigger appending every balance change of cash_card to cash_card_ledger, registered in schema.sql.
+ * <p>
+ * Like {@link CashCardSummaryTrigger} it runs inside the writing transaction whichever path issued the write, so the
+ * ledger can neither miss a committed change nor hold one that rolled back. A write that leaves amount and owner
+ * unchanged is no movement and is not recorded.
+ * <p>
+ * Entries are stamped here rather than by the column default: H2 fixes CURRENT_TIMESTAMP when the transaction
+ * starts, so a long transaction would date its changes before those of a shorter one that wrote the card first.
+ * Stamps strictly increase across the JVM, and the row lock serializes the writes to one card, so the order of
+ * a card's entries by time is the order its changes were applied.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class CashCardLedgerTrigger implements Trigger {
+
+    // column positions of cash_card in schema.sql
+    private static final int ID = 0;
+    private static final int AMOUNT = 1;
+    private static final int OWNER = 2;
+    private static final int VERSION = 3;
+
+    private static final String RECORD = """
+            INSERT INTO cash_card_ledger (card_id, owner, type, delta, balance_after, version, recorded_at) VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // microseconds since the epoch, the precision of recorded_at
+    private static final AtomicLong lastStamp = new AtomicLong();
+
+    @Override
+    public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+        if (newRow == null) {
+            record(connection, oldRow, "DELETE", -amount(oldRow), 0);
+        } else if (oldRow == null) {
+            record(connection, newRow, "CREATE", amount(newRow), amount(newRow));
+        } else if (amount(oldRow) != amount(newRow) || !Objects.equals(oldRow[OWNER], newRow[OWNER])) {
+            record(connection, newRow, "UPDATE", amount(newRow) - amount(oldRow), amount(newRow));
+        }
+    }
+
+    private static long amount(Object[] row) {
+        return ((Number) row[AMOUNT]).longValue();
+    }
+
+    private static void record(Connection connection, Object[] row, String type, long delta, long balanceAfter) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(RECORD)) {
+            statement.setObject(1, row[ID]);
+            statement.setObject(2, row[OWNER]);
+            statement.setString(3, type);
+            statement.setLong(4, delta);
+            statement.setLong(5, balanceAfter);
+            statement.setObject(6, row[VERSION]);
+            statement.setObject(7, stamp());
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * @return the current time, or a microsecond past the last stamp when the clock has not moved on or went back.
+     */
+    private static OffsetDateTime stamp() {
+        final Instant now = Instant.now();
+        final long micros = lastStamp.accumulateAndGet(
+                TimeUnit.SECONDS.toMicros(now.getEpochSecond()) + TimeUnit.NANOSECONDS.toMicros(now.getNano()),
+                (last, current) -> Math.max(last + 1, current));
+        return OffsetDateTime.ofInstant(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+}
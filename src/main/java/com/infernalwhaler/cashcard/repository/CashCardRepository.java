@@ -1,8 +1,13 @@
 package com.infernalwhaler.cashcard.repository;
 
 import com.infernalwhaler.cashcard.model.CashCard;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
@@ -12,11 +17,124 @@ import org.springframework.data.repository.PagingAndSortingRepository;
  * @date 9/05/2025
  */
 
-public interface CashCardRepository extends CrudRepository<CashCard, Long>, PagingAndSortingRepository<CashCard, Long> {
+public interface CashCardRepository extends CrudRepository<CashCard, Long>, PagingAndSortingRepository<CashCard, Long>,
+        CashCardBatchRepository, CashCardKeysetRepository, CashCardExportRepository, CashCardSummaryRepository,
+        CashCardImportRepository, CashCardLedgerRepository {
 
+    /**
+     * Read-through cache of {@link #findByIdAndOwner}, keyed by "id:owner".
+     * Every write below evicts or refreshes the entries it touches.
+     */
+    String CASH_CARDS_CACHE = "cashCards";
+
+    /**
+     * @implNote sync = true lets concurrent misses on the same card share one query. Not-found answers are cached too,
+     * creating a card overwrites that entry.
+     */
+    @Cacheable(cacheNames = CASH_CARDS_CACHE, key = "#p0 + ':' + #p1", sync = true)
     CashCard findByIdAndOwner(Long id, String owner);
 
-    Page<CashCard> findByOwner(String owner, PageRequest pageRequest);
+    /**
+     * @return a Slice rather than a Page: one row more than the page is read to know whether another page follows,
+     * so no COUNT query is issued.
+     */
+    Slice<CashCard> findByOwner(String owner, PageRequest pageRequest);
 
     boolean existsByIdAndOwner(Long id, String owner);
+
+    /**
+     * Reads only the version of a card, enough to answer a conditional GET without fetching the row.
+     *
+     * @return the version, or null when the card does not exist or belongs to another owner.
+     */
+    @Query("SELECT version FROM cash_card WHERE id = :id AND owner = :owner")
+    Long findVersionByIdAndOwner(Long id, String owner);
+
+    /**
+     * Owner-scoped update in a single statement.
+     *
+     * @return the number of rows updated: 0 when the card does not exist or belongs to another owner.
+     */
+    @Modifying
+    @Query("UPDATE cash_card SET amount = :amount, version = version + 1 WHERE id = :id AND owner = :owner")
+    @CacheEvict(cacheNames = CASH_CARDS_CACHE, key = "#p0 + ':' + #p2")
+    int updateAmountByIdAndOwner(Long id, long amount, String owner);
+
+    /**
+     * Optimistic update: only applies while the card is still at the version the client last read.
+     *
+     * @return the number of rows updated: 0 when the card does not exist, belongs to another owner or has changed since.
+     */
+    @Modifying
+    @Query("UPDATE cash_card SET amount = :amount, version = version + 1 WHERE id = :id AND owner = :owner AND version = :version")
+    @CacheEvict(cacheNames = CASH_CARDS_CACHE, key = "#p0 + ':' + #p2")
+    int updateAmountByIdAndOwnerAndVersion(Long id, long amount, String owner, long version);
+
+    /**
+     * Owner-scoped delete in a single statement.
+     *
+     * @return the number of rows deleted: 0 when the card does not exist or belongs to another owner.
+     */
+    @Modifying
+    @Query("DELETE FROM cash_card WHERE id = :id AND owner = :owner")
+    @CacheEvict(cacheNames = CASH_CARDS_CACHE, key = "#p0 + ':' + #p1")
+    int deleteByIdAndOwner(Long id, String owner);
+
+    /**
+     * Optimistic delete, see {@link #updateAmountByIdAndOwnerAndVersion}.
+     */
+    @Modifying
+    @Query("DELETE FROM cash_card WHERE id = :id AND owner = :owner AND version = :version")
+    @CacheEvict(cacheNames = CASH_CARDS_CACHE, key = "#p0 + ':' + #p1")
+    int deleteByIdAndOwnerAndVersion(Long id, String owner, long version);
+
+    /**
+     * Atomic debit: the balance check and the subtraction are one conditional UPDATE, so concurrent spenders
+     * can neither lose an update nor overdraw the card.
+     *
+     * @return the card with its new balance, or null when it does not exist, belongs to another owner or holds less than the amount.
+     */
+    @Query("SELECT * FROM FINAL TABLE (UPDATE cash_card SET amount = amount - :amount, version = version + 1 WHERE id = :id AND owner = :owner AND amount >= :amount)")
+    @CacheEvict(cacheNames = CASH_CARDS_CACHE, key = "#p0 + ':' + #p2")
+    CashCard debit(Long id, long amount, String owner);
+
+    /**
+     * Atomic credit, see {@link #debit}.
+     *
+     * @return the card with its new balance, or null when it does not exist or belongs to another owner.
+     */
+    @Query("SELECT * FROM FINAL TABLE (UPDATE cash_card SET amount = amount + :amount, version = version + 1 WHERE id = :id AND owner = :owner)")
+    @CacheEvict(cacheNames = CASH_CARDS_CACHE, key = "#p0 + ':' + #p2")
+    CashCard credit(Long id, long amount, String owner);
+
+    @Override
+    @CachePut(cacheNames = CASH_CARDS_CACHE, key = "#result.id() + ':' + #result.owner()")
+    <S extends CashCard> S save(S cashCard);
+
+    @Override
+    @CacheEvict(cacheNames = CASH_CARDS_CACHE, key = "#p0.id() + ':' + #p0.owner()")
+    void delete(CashCard cashCard);
+
+    /**
+     * The remaining CrudRepository writes do not know the owner of every card they touch, so they clear the cache.
+     */
+    @Override
+    @CacheEvict(cacheNames = CASH_CARDS_CACHE, allEntries = true)
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CASH_CARDS_CACHE, allEntries = true)
+    <S extends CashCard> Iterable<S> saveAll(Iterable<S> cashCards);
+
+    @Override
+    @CacheEvict(cacheNames = CASH_CARDS_CACHE, allEntries = true)
+    void deleteAllById(Iterable<? extends Long> ids);
+
+    @Override
+    @CacheEvict(cacheNames = CASH_CARDS_CACHE, allEntries = true)
+    void deleteAll(Iterable<? extends CashCard> cashCards);
+
+    @Override
+    @CacheEvict(cacheNames = CASH_CARDS_CACHE, allEntries = true)
+    void deleteAll();
 }
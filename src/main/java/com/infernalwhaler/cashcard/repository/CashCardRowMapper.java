@@ -0,0 +1,33 @@
+package com.infernalwhaler.cashcard.repository;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps a row holding the id, amount, owner and version columns of cash_card to a {@link CashCard}, for the queries
+ * written by hand next to the derived ones.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public final class CashCardRowMapper implements RowMapper<CashCard> {
+
+    public static final CashCardRowMapper INSTANCE = new CashCardRowMapper();
+
+    private CashCardRowMapper() {
+    }
+
+    /**
+     * @implNote CashCard has two constructors, so the row is mapped explicitly rather than by DataClassRowMapper.
+     */
+    @Override
+    public CashCard mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        return new CashCard(resultSet.getLong("id"), resultSet.getLong("amount"), resultSet.getString("owner"),
+                resultSet.getLong("version"));
+    }
+}
@@ -0,0 +1,46 @@
+package com.infernalwhaler.cashcard.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically compares cash_card_summary with a full recount and repairs the owners that drifted,
+ * e.g. after rows were changed with the trigger disabled or restored from a dump.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@Component
+class CashCardSummaryCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(CashCardSummaryCheck.class);
+
+    private final CashCardRepository cashCardRepository;
+
+    CashCardSummaryCheck(CashCardRepository cashCardRepository) {
+        this.cashCardRepository = cashCardRepository;
+    }
+
+    /**
+     * @return the number of owners repaired.
+     */
+    @Scheduled(initialDelayString = "${cashcard.summary.check-interval:1h}",
+            fixedDelayString = "${cashcard.summary.check-interval:1h}")
+    public int verify() {
+        final List<String> staleOwners = cashCardRepository.findOwnersWithStaleSummary();
+
+        for (String owner : staleOwners) {
+            cashCardRepository.rebuildSummary(owner);
+        }
+        if (!staleOwners.isEmpty()) {
+            log.warn("Rebuilt the cash card summary of {} owners that no longer matched their cards", staleOwners.size());
+        }
+        return staleOwners.size();
+    }
+}
@@ -0,0 +1,35 @@
+package com.infernalwhaler.cashcard.repository;
+
+import com.infernalwhaler.cashcard.model.CashCardSummary;
+
+import java.util.List;
+
+/**
+ * Custom fragment of {@link CashCardRepository} over the per-owner aggregate maintained by {@link CashCardSummaryTrigger}.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public interface CashCardSummaryRepository {
+
+    /**
+     * Reads the owner's aggregate row by primary key, the cost does not depend on how many cards the owner holds.
+     *
+     * @return the summary, or an empty one when the owner never had a card.
+     */
+    CashCardSummary findSummaryByOwner(String owner);
+
+    /**
+     * Recomputes every aggregate from cash_card and compares it with the stored one. This scans the whole table.
+     *
+     * @return the owners whose stored aggregate differs.
+     */
+    List<String> findOwnersWithStaleSummary();
+
+    /**
+     * Overwrites the owner's aggregate with one recomputed from cash_card.
+     */
+    void rebuildSummary(String owner);
+}
@@ -0,0 +1,84 @@
+package com.infernalwhaler.cashcard.repository;
+
+import com.infernalwhaler.cashcard.model.CashCardSummary;
+import org.springframework.jdbc.core.DataClassRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link CashCardSummaryRepository}.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class CashCardSummaryRepositoryImpl implements CashCardSummaryRepository {
+
+    private static final String FIND = """
+            SELECT owner, card_count, total_amount, min_amount, max_amount FROM cash_card_summary WHERE owner = :owner
+            """;
+
+    private static final String STALE = """
+            SELECT c.owner FROM (SELECT owner, COUNT(*) AS card_count, SUM(amount) AS total_amount,
+                                        MIN(amount) AS min_amount, MAX(amount) AS max_amount
+                                 FROM cash_card GROUP BY owner) c
+            LEFT JOIN cash_card_summary s ON s.owner = c.owner
+            WHERE s.card_count IS DISTINCT FROM c.card_count
+               OR s.total_amount IS DISTINCT FROM c.total_amount
+               OR s.min_amount IS DISTINCT FROM c.min_amount
+               OR s.max_amount IS DISTINCT FROM c.max_amount
+            UNION
+            SELECT s.owner FROM cash_card_summary s
+            WHERE s.card_count <> 0 AND NOT EXISTS (SELECT 1 FROM cash_card c WHERE c.owner = s.owner)
+            """;
+
+    // taken first so a writer cannot change the owner's cards between the recount and the merge
+    private static final String LOCK = "SELECT owner FROM cash_card_summary WHERE owner = :owner FOR UPDATE";
+
+    private static final String REBUILD = """
+            MERGE INTO cash_card_summary s
+            USING (SELECT CAST(:owner AS VARCHAR(256)) AS owner, COUNT(*) AS card_count, COALESCE(SUM(amount), 0) AS total_amount,
+                          MIN(amount) AS min_amount, MAX(amount) AS max_amount
+                   FROM cash_card WHERE owner = :owner) c ON s.owner = c.owner
+            WHEN MATCHED THEN UPDATE SET card_count = c.card_count, total_amount = c.total_amount,
+                                         min_amount = c.min_amount, max_amount = c.max_amount
+            WHEN NOT MATCHED THEN INSERT (owner, card_count, total_amount, min_amount, max_amount)
+                                  VALUES (c.owner, c.card_count, c.total_amount, c.min_amount, c.max_amount)
+            """;
+
+    private static final RowMapper<CashCardSummary> ROW_MAPPER = new DataClassRowMapper<>(CashCardSummary.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    CashCardSummaryRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public CashCardSummary findSummaryByOwner(String owner) {
+        final List<CashCardSummary> summaries = jdbcTemplate.query(FIND, new MapSqlParameterSource("owner", owner), ROW_MAPPER);
+        return summaries.isEmpty() ? CashCardSummary.empty(owner) : summaries.getFirst();
+    }
+
+    @Override
+    public List<String> findOwnersWithStaleSummary() {
+        return jdbcTemplate.queryForList(STALE, new MapSqlParameterSource(), String.class);
+    }
+
+    @Override
+    public void rebuildSummary(String owner) {
+        final MapSqlParameterSource parameters = new MapSqlParameterSource("owner", owner);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList(LOCK, parameters, String.class);
+            jdbcTemplate.update(REBUILD, parameters);
+        });
+    }
+}
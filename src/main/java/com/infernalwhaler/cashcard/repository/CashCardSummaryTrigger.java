@@ -0,0 +1,86 @@
+package com.infernalwhaler.cashcard.repository;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * H2 row trigger keeping cash_card_summary in step with cash_card, registered in schema.sql.
+ * <p>
+ * It runs inside the writing transaction for every insert, update and delete, whichever path issued it:
+ * repository methods, batches or plain SQL. Count and total are adjusted by the row delta.
+ * Min and max are adjusted the same way, and only re-read from the (owner, amount, id) index when the row
+ * that held them moves away or disappears. An owner whose last card went keeps a row with NULL min and max,
+ * the next card sets them again.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class CashCardSummaryTrigger implements Trigger {
+
+    // column positions of cash_card in schema.sql
+    private static final int AMOUNT = 1;
+    private static final int OWNER = 2;
+
+    private static final String ADD = """
+            MERGE INTO cash_card_summary s
+            USING (VALUES (CAST(? AS VARCHAR(256)), CAST(? AS BIGINT))) v (owner, amount) ON s.owner = v.owner
+            WHEN MATCHED THEN UPDATE SET card_count = s.card_count + 1,
+                                         total_amount = s.total_amount + v.amount,
+                                         min_amount = LEAST(COALESCE(s.min_amount, v.amount), v.amount),
+                                         max_amount = GREATEST(COALESCE(s.max_amount, v.amount), v.amount)
+            WHEN NOT MATCHED THEN INSERT (owner, card_count, total_amount, min_amount, max_amount)
+                                  VALUES (v.owner, 1, v.amount, v.amount, v.amount)
+            """;
+
+    private static final String REMOVE = """
+            UPDATE cash_card_summary
+            SET card_count = card_count - 1,
+                total_amount = total_amount - ?1,
+                min_amount = CASE WHEN min_amount = ?1 THEN (SELECT MIN(amount) FROM cash_card WHERE owner = ?2) ELSE min_amount END,
+                max_amount = CASE WHEN max_amount = ?1 THEN (SELECT MAX(amount) FROM cash_card WHERE owner = ?2) ELSE max_amount END
+            WHERE owner = ?2
+            """;
+
+    private static final String CHANGE = """
+            UPDATE cash_card_summary
+            SET total_amount = total_amount + ?2 - ?1,
+                min_amount = CASE WHEN ?2 < min_amount THEN ?2
+                                  WHEN min_amount = ?1 THEN (SELECT MIN(amount) FROM cash_card WHERE owner = ?3)
+                                  ELSE min_amount END,
+                max_amount = CASE WHEN ?2 > max_amount THEN ?2
+                                  WHEN max_amount = ?1 THEN (SELECT MAX(amount) FROM cash_card WHERE owner = ?3)
+                                  ELSE max_amount END
+            WHERE owner = ?3
+            """;
+
+    @Override
+    public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+        if (oldRow != null && newRow != null && Objects.equals(oldRow[OWNER], newRow[OWNER])) {
+            if (!Objects.equals(oldRow[AMOUNT], newRow[AMOUNT])) {
+                execute(connection, CHANGE, oldRow[AMOUNT], newRow[AMOUNT], newRow[OWNER]);
+            }
+            return;
+        }
+        if (oldRow != null) {
+            execute(connection, REMOVE, oldRow[AMOUNT], oldRow[OWNER]);
+        }
+        if (newRow != null) {
+            execute(connection, ADD, newRow[OWNER], newRow[AMOUNT]);
+        }
+    }
+
+    private static void execute(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.infernalwhaler.cashcard.security;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.stream.Collectors;
+
+/**
+ * Puts a {@link CredentialCache} in front of the BCrypt check of HTTP Basic.
+ * <p>
+ * A hit still reloads the user from the {@link UserDetailsService}, which is cheap compared to BCrypt,
+ * and is only honoured when the stored password hash and roles are the ones the credentials were verified against.
+ * A changed password or role therefore invalidates the entry on its next use.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final UserDetailsService userDetailsService;
+    private final CredentialCache credentialCache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, UserDetailsService userDetailsService, CredentialCache credentialCache) {
+        this.delegate = delegate;
+        this.userDetailsService = userDetailsService;
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        final String username = authentication.getName();
+        final String key = credentialCache.keyFor(username, password);
+
+        if (credentialCache.get(key) instanceof CredentialCache.Entry cached) {
+            final UserDetails user = loadCurrentUser(username);
+
+            if (user != null && isUsable(user) && cached.fingerprint().equals(fingerprint(user))) {
+                final UsernamePasswordAuthenticationToken result =
+                        UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+                result.setDetails(authentication.getDetails());
+                return result;
+            }
+            credentialCache.remove(key);
+        }
+
+        final Authentication result = delegate.authenticate(authentication);
+
+        if (result != null && result.getPrincipal() instanceof UserDetails user && user.getPassword() != null) {
+            credentialCache.put(key, username, fingerprint(user));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    private UserDetails loadCurrentUser(String username) {
+        try {
+            return userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static boolean isUsable(UserDetails user) {
+        return user.isEnabled() && user.isAccountNonLocked() && user.isAccountNonExpired() && user.isCredentialsNonExpired();
+    }
+
+    private static String fingerprint(UserDetails user) {
+        return user.getPassword() + '|' + user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,122 @@
+package com.infernalwhaler.cashcard.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, TTL-evicting cache of credentials that already passed a full password check.
+ * <p>
+ * Entries are keyed on a salted SHA-256 of username and password, the salt is random per process,
+ * so the raw password is never kept and the keys are useless outside this JVM.
+ * <p>
+ * Backed by Caffeine: lookups take no lock, so concurrent authentications, including those on event-loop threads,
+ * never wait on each other. Eviction is size based and frequency aware, not strictly least recently used.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class CredentialCache {
+
+    private final byte[] salt = new byte[32];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final Cache<String, Entry> entries;
+
+    /**
+     * @implNote Maintenance and removal notifications run on the calling thread, they are amortized and short,
+     * and keep the eviction count exact without a background executor.
+     */
+    public CredentialCache(int maxSize, Duration ttl) {
+        new SecureRandom().nextBytes(salt);
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(Runnable::run)
+                .<String, Entry>removalListener((key, entry, cause) -> {
+                    if (cause != RemovalCause.REPLACED) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @return the cache key for a username/password pair, a salted hash that does not reveal the password.
+     */
+    public String keyFor(String username, String password) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            digest.update(username.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(password.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @return the cached entry, or null when absent or expired.
+     */
+    public Entry get(String key) {
+        final Entry entry = entries.getIfPresent(key);
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    /**
+     * @param fingerprint identifies the user state the credentials were verified against (password hash and roles).
+     */
+    public void put(String key, String username, String fingerprint) {
+        entries.put(key, new Entry(username, fingerprint));
+    }
+
+    public void remove(String key) {
+        entries.invalidate(key);
+    }
+
+    /**
+     * Drops every cached credential of a user, e.g. after an explicit password or role change.
+     */
+    public void invalidate(String username) {
+        entries.asMap().values().removeIf(entry -> entry.username().equals(username));
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * @implNote Runs pending maintenance first, so the size does not count expired or over-capacity entries.
+     */
+    public Stats stats() {
+        entries.cleanUp();
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), (int) entries.estimatedSize());
+    }
+
+    public record Entry(String username, String fingerprint) {
+    }
+
+    public record Stats(long hits, long misses, long evictions, int size) {
+    }
+}
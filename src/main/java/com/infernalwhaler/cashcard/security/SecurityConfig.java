@@ -1,10 +1,21 @@
 package com.infernalwhaler.cashcard.security;
 
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -12,6 +23,12 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
 
 /**
  * @author Sdeseure
@@ -23,21 +40,104 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Bean
-    protected SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    protected SecurityFilterChain filterChain(HttpSecurity http, ObjectProvider<SignedTokenService> signedTokenService,
+                                              ObjectProvider<TokenBucketRateLimiter> rateLimiter) throws Exception {
         http
                 .authorizeHttpRequests(request -> request
                         .requestMatchers("/cashcards/**")
-                        .hasRole("CARD-OWNER"))
+                        .hasRole("CARD-OWNER")
+                        .requestMatchers("/auth/token")
+                        .access((authentication, context) -> new AuthorizationDecision(isPasswordAuthenticated(authentication.get())))
+                        .requestMatchers("/actuator/health")
+                        .permitAll()
+                        .requestMatchers("/actuator/**")
+                        .authenticated())
                 .csrf(csrf -> csrf.disable())
                 .httpBasic(Customizer.withDefaults());
+
+        signedTokenService.ifAvailable(tokenService -> http
+                .addFilterBefore(new SignedTokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class));
+        rateLimiter.ifAvailable(limiter -> http
+                .addFilterAfter(new RateLimitingFilter(limiter), BasicAuthenticationFilter.class));
         return http.build();
     }
 
+    /**
+     * @implNote Tokens are only issued against a password, a bearer token cannot renew itself: otherwise the ttl would
+     * never end a session, nor would a password or role change.
+     */
+    private static boolean isPasswordAuthenticated(Authentication authentication) {
+        return authentication != null
+                && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)
+                && !(authentication instanceof SignedTokenService.TokenAuthentication);
+    }
+
     @Bean
     protected PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
 
+    @Bean
+    CredentialCache credentialCache(@Value("${cashcard.security.credential-cache.max-size:10000}") int maxSize,
+                                    @Value("${cashcard.security.credential-cache.ttl:5m}") Duration ttl) {
+        return new CredentialCache(maxSize, ttl);
+    }
+
+    /**
+     * HTTP Basic authentication: BCrypt verification, fronted by the credential cache unless it is disabled.
+     */
+    @Bean
+    AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                  PasswordEncoder passwordEncoder,
+                                                  CredentialCache credentialCache,
+                                                  @Value("${cashcard.security.credential-cache.enabled:true}") boolean cacheEnabled) {
+        final DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
+        daoAuthenticationProvider.setUserDetailsService(userDetailsService);
+        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
+
+        if (!cacheEnabled) {
+            return daoAuthenticationProvider;
+        }
+        return new CachingAuthenticationProvider(daoAuthenticationProvider, userDetailsService, credentialCache);
+    }
+
+    /**
+     * Opt-in bearer token mode: keys are generated and rotated in memory unless a key file is configured.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "cashcard.security.token", name = "enabled", havingValue = "true")
+    TokenKeyRing tokenKeyRing(@Value("${cashcard.security.token.key-file:}") String keyFile) {
+        return new TokenKeyRing(keyFile.isBlank() ? null : Path.of(keyFile));
+    }
+
+    /**
+     * @implNote The previous key is kept for verification only until the next rotation, so the rotation interval
+     * must outlive the tokens.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "cashcard.security.token", name = "enabled", havingValue = "true")
+    SignedTokenService signedTokenService(TokenKeyRing tokenKeyRing,
+                                          @Value("${cashcard.security.token.ttl:15m}") Duration ttl,
+                                          @Value("${cashcard.security.token.rotation-interval:1h}") Duration rotationInterval) {
+        if (rotationInterval.compareTo(ttl) < 0) {
+            throw new IllegalStateException("cashcard.security.token.rotation-interval must not be shorter than cashcard.security.token.ttl");
+        }
+        return new SignedTokenService(tokenKeyRing, ttl, Clock.systemUTC());
+    }
+
+    /**
+     * Opt-in per-owner rate limits, cashcard.rate-limit.roles.{role}.rate and .burst for every limited role.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "cashcard.rate-limit", name = "enabled", havingValue = "true")
+    TokenBucketRateLimiter tokenBucketRateLimiter(Environment environment) {
+        final Map<String, TokenBucketRateLimiter.Limit> limits = Binder.get(environment)
+                .bind("cashcard.rate-limit.roles", Bindable.mapOf(String.class, TokenBucketRateLimiter.Limit.class))
+                .orElseGet(Map::of);
+        return new TokenBucketRateLimiter(limits, System::nanoTime);
+    }
+
     /**
      * Test-only users.
      * Configure a user named sarah1 with the password abc123.
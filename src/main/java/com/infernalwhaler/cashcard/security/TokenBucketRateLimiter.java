@@ -0,0 +1,126 @@
+package com.infernalwhaler.cashcard.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * One token bucket per authenticated principal, sized by the most generous of the principal's roles that has a limit.
+ * Principals without such a role are not limited.
+ * <p>
+ * A bucket is a single {@link AtomicLong}, the time at which it will be full again less the burst it allows, the
+ * generic cell rate form of a token bucket: taking a token is one compare-and-set, with no lock and no refill thread.
+ * Buckets of principals idle for longer than they take to refill are dropped.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class TokenBucketRateLimiter {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final Map<String, Limit> limits = new HashMap<>();
+    private final LongSupplier nanoClock;
+    private final Cache<String, Bucket> buckets;
+
+    /**
+     * @param limits    by role, without the ROLE_ prefix.
+     * @param nanoClock {@link System#nanoTime()} outside tests.
+     */
+    public TokenBucketRateLimiter(Map<String, Limit> limits, LongSupplier nanoClock) {
+        limits.forEach((role, limit) -> this.limits.put(role.toUpperCase(Locale.ROOT), limit));
+        this.nanoClock = nanoClock;
+        final Duration refill = this.limits.values().stream()
+                .map(Limit::refill)
+                .max(Comparator.naturalOrder())
+                .orElse(Duration.ZERO);
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(refill.plusSeconds(1))
+                .build();
+    }
+
+    /**
+     * Takes a token from the bucket of the principal.
+     *
+     * @return 0 when the request may proceed, otherwise how long until the bucket holds a token again, in nanoseconds.
+     */
+    public long tryAcquire(Authentication authentication) {
+        final Optional<Limit> limit = limitOf(authentication);
+        if (limit.isEmpty()) {
+            return 0;
+        }
+        final long now = nanoClock.getAsLong();
+        return buckets.get(authentication.getName(), name -> new Bucket(limit.get(), now)).tryAcquire(now);
+    }
+
+    private Optional<Limit> limitOf(Authentication authentication) {
+        Limit mostGenerous = null;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            final String role = authority.getAuthority();
+            final Limit limit = role != null && role.startsWith(ROLE_PREFIX)
+                    ? limits.get(role.substring(ROLE_PREFIX.length()).toUpperCase(Locale.ROOT))
+                    : null;
+            if (limit != null && (mostGenerous == null || limit.rate() > mostGenerous.rate())) {
+                mostGenerous = limit;
+            }
+        }
+        return Optional.ofNullable(mostGenerous);
+    }
+
+    /**
+     * @param rate  requests per second sustained.
+     * @param burst requests let through at once by a full bucket.
+     */
+    public record Limit(double rate, int burst) {
+
+        public Limit {
+            if (rate <= 0 || burst < 1) {
+                throw new IllegalArgumentException("A rate limit needs a positive rate and a burst of at least 1, was " + rate + "/" + burst);
+            }
+        }
+
+        Duration refill() {
+            return Duration.ofNanos((long) (burst * 1e9 / rate));
+        }
+    }
+
+    private static final class Bucket {
+
+        private final long emissionNanos;
+        private final long toleranceNanos;
+        // when the bucket would be empty had every token been taken as early as allowed
+        private final AtomicLong theoreticalArrival;
+
+        private Bucket(Limit limit, long now) {
+            this.emissionNanos = (long) (1e9 / limit.rate());
+            this.toleranceNanos = emissionNanos * (limit.burst() - 1);
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        long tryAcquire(long now) {
+            while (true) {
+                final long arrival = theoreticalArrival.get();
+                final long start = Math.max(arrival, now);
+                final long wait = start - toleranceNanos - now;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (theoreticalArrival.compareAndSet(arrival, start + emissionNanos)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.infernalwhaler.cashcard.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * HMAC keys used to sign and verify bearer tokens, rotated at runtime.
+ * <p>
+ * Without a key file the ring generates its own keys and rotates them on a schedule, keeping the previous key
+ * for verification so tokens issued just before a rotation stay valid until they expire.
+ * With a key file ({@code kid=base64-secret} per line, the first line signs) the file is re-read whenever it changes,
+ * which lets several instances share keys and rotate them without a restart.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class TokenKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenKeyRing.class);
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Path keyFile;
+    private final SecureRandom random = new SecureRandom();
+
+    private volatile Keys keys;
+    private volatile FileTime keyFileModified;
+
+    public TokenKeyRing(Path keyFile) {
+        this.keyFile = keyFile;
+        if (keyFile == null) {
+            rotate();
+        } else {
+            reloadKeyFile();
+        }
+    }
+
+    /**
+     * @return a fresh MAC initialised with the current signing key.
+     */
+    public SigningKey signingKey() {
+        final Keys current = keys;
+        return new SigningKey(current.signingKid(), newMac(current.byKid().get(current.signingKid())));
+    }
+
+    /**
+     * @return a fresh MAC for the given key id, or null when the key is unknown or retired.
+     */
+    public Mac verificationMac(String kid) {
+        final Mac prototype = keys.byKid().get(kid);
+        return prototype == null ? null : newMac(prototype);
+    }
+
+    /**
+     * Scheduled entry point: rotates generated keys, or picks up a changed key file.
+     */
+    @Scheduled(initialDelayString = "${cashcard.security.token.rotation-interval:1h}",
+            fixedDelayString = "${cashcard.security.token.rotation-interval:1h}")
+    public void refresh() {
+        if (keyFile == null) {
+            rotate();
+        } else {
+            reloadKeyFile();
+        }
+    }
+
+    /**
+     * Generates a new signing key and keeps only the previous one for verification.
+     */
+    public synchronized void rotate() {
+        final byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        final String kid = UUID.randomUUID().toString().substring(0, 8);
+
+        final Map<String, Mac> byKid = new LinkedHashMap<>();
+        byKid.put(kid, mac(secret));
+        if (keys != null) {
+            byKid.put(keys.signingKid(), keys.byKid().get(keys.signingKid()));
+        }
+        keys = new Keys(kid, Map.copyOf(byKid));
+        log.info("Rotated token signing key, now signing with {}", kid);
+    }
+
+    private synchronized void reloadKeyFile() {
+        try {
+            final FileTime modified = Files.getLastModifiedTime(keyFile);
+            if (modified.equals(keyFileModified)) {
+                return;
+            }
+
+            final List<String> lines = Files.readAllLines(keyFile).stream()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+            if (lines.isEmpty()) {
+                throw new IllegalStateException("Token key file " + keyFile + " holds no key");
+            }
+
+            final Map<String, Mac> byKid = new LinkedHashMap<>();
+            String signingKid = null;
+            for (String line : lines) {
+                final int separator = line.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalStateException("Token key file " + keyFile + " has a line that is not kid=base64-secret");
+                }
+                final String kid = line.substring(0, separator);
+                byKid.put(kid, mac(decodeSecret(kid, line.substring(separator + 1))));
+                if (signingKid == null) {
+                    signingKid = kid;
+                }
+            }
+            keys = new Keys(signingKid, Map.copyOf(byKid));
+            keyFileModified = modified;
+            log.info("Loaded {} token keys from {}, signing with {}", byKid.size(), keyFile, keys.signingKid());
+        } catch (IOException e) {
+            if (keys == null) {
+                throw new UncheckedIOException(e);
+            }
+            log.warn("Could not reload token key file {}, keeping the current keys", keyFile, e);
+        } catch (IllegalStateException e) {
+            if (keys == null) {
+                throw e;
+            }
+            log.warn("Could not reload token key file {}, keeping the current keys: {}", keyFile, e.getMessage());
+        }
+    }
+
+    private byte[] decodeSecret(String kid, String secret) {
+        try {
+            final byte[] decoded = Base64.getDecoder().decode(secret.strip());
+            if (decoded.length == 0) {
+                throw new IllegalStateException("Token key " + kid + " in " + keyFile + " has an empty secret");
+            }
+            return decoded;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Token key " + kid + " in " + keyFile + " is not valid base64", e);
+        }
+    }
+
+    private static Mac mac(byte[] secret) {
+        try {
+            final Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    /**
+     * Mac instances are not thread-safe, cloning an initialised prototype is much cheaper than a new init.
+     */
+    private static Mac newMac(Mac prototype) {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(ALGORITHM + " MAC cannot be cloned", e);
+        }
+    }
+
+    public record SigningKey(String kid, Mac mac) {
+    }
+
+    private record Keys(String signingKid, Map<String, Mac> byKid) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.infernalwhaler.cashcard.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread's JDBC work goes to, read by {@link ShardRoutingDataSource} when a connection is taken.
+ * It has to be set before the transaction starts, since the connection is bound for the whole transaction.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the bound shard, or null outside of {@link #call}: the routing data source then uses shard 0.
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T call(int shard, Supplier<T> work) {
+        final Integer previous = bind(shard);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void run(int shard, Runnable work) {
+        call(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return the shard bound before, to hand back to {@link #restore}.
+     */
+    static Integer bind(int shard) {
+        final Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.infernalwhaler.cashcard.sharding;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.repository.CashCardRowMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves every card to the shard of its owner, e.g. after {@code cashcard.sharding.shards} changed, then realigns
+ * the id sequences of all shards with the new shard count.
+ * <p>
+ * A card is first merged into its new shard, then deleted from the old one: a rebalance that stops half way leaves
+ * at worst an unreachable duplicate on the old shard, which the next run removes. Cards keep their id, so the links
+ * clients hold stay valid; every API call carries the owner and finds them on their new shard.
+ * <p>
+ * The ledger moves with the card, so history and point-in-time reads keep working on the new shard. The ledger
+ * trigger cannot tell a move from a create and a delete, so each side drops the card's entries in the same
+ * transaction as the move: the new shard replaces the CREATE entry its trigger recorded with the copied history, in
+ * its original order and with its original timestamps, and the old shard drops the history along with the DELETE
+ * entry. History cursors issued before the move do not carry over.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final String SELECT_CHUNK = "SELECT id, amount, owner, version FROM cash_card WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String MERGE = "MERGE INTO cash_card (id, amount, owner, version) KEY (id) VALUES (?, ?, ?, ?)";
+    private static final String DELETE = "DELETE FROM cash_card WHERE id = ?";
+    private static final String MAX_ID = "SELECT COALESCE(MAX(id), 0) FROM cash_card";
+    private static final String SELECT_HISTORY = """
+            SELECT card_id, owner, type, delta, balance_after, version, recorded_at FROM cash_card_ledger
+            WHERE card_id = ? ORDER BY recorded_at, id""";
+    private static final String INSERT_HISTORY = """
+            INSERT INTO cash_card_ledger (card_id, owner, type, delta, balance_after, version, recorded_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)""";
+    private static final String DELETE_HISTORY = "DELETE FROM cash_card_ledger WHERE card_id = ?";
+
+    private final ShardRouter router;
+    private final int chunkSize;
+
+    public ShardRebalancer(ShardRouter router, int chunkSize) {
+        this.router = router;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return the number of cards moved.
+     */
+    public long rebalance() {
+        long moved = 0;
+        for (int shard = 0; shard < router.shardCount(); shard++) {
+            moved += rebalance(shard);
+        }
+        alignIdentities();
+        if (moved > 0) {
+            log.info("Moved {} cash cards to the shard of their owner", moved);
+        }
+        return moved;
+    }
+
+    /**
+     * Restarts the id sequence of shard k at the first id above every existing id, on any shard, with
+     * {@code (id - 1) mod N == k}, and steps it by N.
+     */
+    public void alignIdentities() {
+        long maxId = 0;
+        for (int shard = 0; shard < router.shardCount(); shard++) {
+            maxId = Math.max(maxId, jdbcTemplate(shard).queryForObject(MAX_ID, Long.class));
+        }
+
+        final int shardCount = router.shardCount();
+        for (int shard = 0; shard < shardCount; shard++) {
+            final long restartWith = maxId + 1 + Math.floorMod(shard - maxId, (long) shardCount);
+            jdbcTemplate(shard).execute("ALTER TABLE cash_card ALTER COLUMN id RESTART WITH " + restartWith
+                    + " SET INCREMENT BY " + shardCount);
+        }
+    }
+
+    private long rebalance(int source) {
+        final JdbcTemplate sourceTemplate = jdbcTemplate(source);
+        long moved = 0;
+        long after = 0;
+
+        while (true) {
+            final List<CashCard> chunk = sourceTemplate.query(SELECT_CHUNK, CashCardRowMapper.INSTANCE, after, chunkSize);
+            if (chunk.isEmpty()) {
+                return moved;
+            }
+            after = chunk.getLast().id();
+
+            final Map<Integer, List<Object[]>> misplaced = new HashMap<>();
+            final Map<Integer, List<Object[]>> histories = new HashMap<>();
+            final List<Object[]> deletes = new ArrayList<>();
+            for (CashCard cashCard : chunk) {
+                final int target = router.shardOf(cashCard.owner());
+                if (target != source) {
+                    misplaced.computeIfAbsent(target, shard -> new ArrayList<>())
+                            .add(new Object[]{cashCard.id(), cashCard.amount(), cashCard.owner(), cashCard.version()});
+                    histories.computeIfAbsent(target, shard -> new ArrayList<>())
+                            .addAll(sourceTemplate.query(SELECT_HISTORY, (resultSet, rowNum) -> new Object[]{
+                                    resultSet.getObject(1), resultSet.getObject(2), resultSet.getObject(3), resultSet.getObject(4),
+                                    resultSet.getObject(5), resultSet.getObject(6), resultSet.getObject(7)}, cashCard.id()));
+                    deletes.add(new Object[]{cashCard.id()});
+                }
+            }
+            if (deletes.isEmpty()) {
+                continue;
+            }
+
+            misplaced.forEach((target, rows) -> transactionTemplate(target).executeWithoutResult(status -> {
+                final JdbcTemplate targetTemplate = jdbcTemplate(target);
+                targetTemplate.batchUpdate(MERGE, rows);
+                // also drops a copy left by a run that stopped before deleting from the old shard
+                targetTemplate.batchUpdate(DELETE_HISTORY, rows.stream().map(row -> new Object[]{row[0]}).toList());
+                targetTemplate.batchUpdate(INSERT_HISTORY, histories.get(target));
+            }));
+            transactionTemplate(source).executeWithoutResult(status -> {
+                sourceTemplate.batchUpdate(DELETE, deletes);
+                sourceTemplate.batchUpdate(DELETE_HISTORY, deletes);
+            });
+            moved += deletes.size();
+        }
+    }
+
+    private JdbcTemplate jdbcTemplate(int shard) {
+        return new JdbcTemplate(router.dataSource(shard));
+    }
+
+    private TransactionTemplate transactionTemplate(int shard) {
+        return new TransactionTemplate(new DataSourceTransactionManager(router.dataSource(shard)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.infernalwhaler.cashcard.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps owners and card ids to one of N shard databases.
+ * <p>
+ * An owner lives on shard {@code floorMod(owner.hashCode(), N)}. Each shard hands out ids in its own residue class,
+ * {@code shard + 1} then every N-th, so ids are unique across shards and a card created on shard k carries
+ * {@code (id - 1) mod N == k}. Every API call knows the owner and is routed by it; the id mapping serves the
+ * id-only CrudRepository methods, and only holds for cards still on the shard that created them.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class ShardRouter implements AutoCloseable {
+
+    private final List<HikariDataSource> shards;
+
+    /**
+     * @param urlTemplate JDBC url in which {@code {shard}} is replaced by the shard number.
+     */
+    public ShardRouter(String urlTemplate, int shardCount, String username, String password, int poolSize) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("cashcard.sharding.shards must be at least 1, was " + shardCount);
+        }
+        this.shards = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            final HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("cashcard-shard-" + shard);
+            dataSource.setJdbcUrl(urlTemplate.replace("{shard}", String.valueOf(shard)));
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+            dataSource.setMaximumPoolSize(poolSize);
+            shards.add(dataSource);
+        }
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public HikariDataSource dataSource(int shard) {
+        return shards.get(shard);
+    }
+
+    public int shardOf(String owner) {
+        return Math.floorMod(owner.hashCode(), shards.size());
+    }
+
+    public int shardOf(long id) {
+        return (int) Math.floorMod(id - 1, (long) shards.size());
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,33 @@
+package com.infernalwhaler.cashcard.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The application's single {@link javax.sql.DataSource}, handing out connections of the shard bound in {@link ShardContext}.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ShardRoutingDataSource(ShardRouter router) {
+        final Map<Object, Object> shards = new HashMap<>();
+        for (int shard = 0; shard < router.shardCount(); shard++) {
+            shards.put(shard, router.dataSource(shard));
+        }
+        setTargetDataSources(shards);
+        setDefaultTargetDataSource(router.dataSource(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
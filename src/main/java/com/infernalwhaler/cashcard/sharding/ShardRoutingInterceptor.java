@@ -0,0 +1,123 @@
+package com.infernalwhaler.cashcard.sharding;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outermost advice of the repository proxies: binds the shard of a call before its transaction takes a connection.
+ * <ul>
+ *     <li>Owner-scoped methods, which take the owner as their only String argument, and entity methods go to the
+ *     owner's shard.</li>
+ *     <li>{@code findById}, {@code existsById} and {@code deleteById} go to the shard that created the id.</li>
+ *     <li>Collections of entities or ids are split per shard, one call each.</li>
+ *     <li>Anything else, e.g. {@code count} or {@code findOwnersWithStaleSummary}, runs on every shard and the
+ *     results are added up or concatenated.</li>
+ * </ul>
+ * Paged reads without an owner have no meaningful merge and are rejected.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class ShardRoutingInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<ShardRouter> router;
+
+    ShardRoutingInterceptor(ObjectProvider<ShardRouter> router) {
+        this.router = router;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (ShardContext.current() != null) {
+            return invocation.proceed();
+        }
+        final ShardRouter shards = router.getObject();
+        final Object[] arguments = invocation.getArguments();
+
+        for (Object argument : arguments) {
+            if (argument instanceof String owner) {
+                return on(shards.shardOf(owner), invocation, arguments);
+            }
+            if (argument instanceof CashCard cashCard && cashCard.owner() != null) {
+                return on(shards.shardOf(cashCard.owner()), invocation, arguments);
+            }
+        }
+        if (arguments.length == 1 && arguments[0] instanceof Long id) {
+            return on(shards.shardOf(id), invocation, arguments);
+        }
+        if (arguments.length == 1 && arguments[0] instanceof Iterable<?> items) {
+            return split(shards, invocation, items);
+        }
+        return everyShard(shards, invocation);
+    }
+
+    private Object split(ShardRouter shards, MethodInvocation invocation, Iterable<?> items) throws Throwable {
+        final Map<Integer, List<Object>> perShard = new LinkedHashMap<>();
+        for (Object item : items) {
+            final int shard = switch (item) {
+                case CashCard cashCard -> shards.shardOf(cashCard.owner());
+                case Long id -> shards.shardOf(id);
+                default -> throw new UnsupportedOperationException("Cannot route " + item + " to a shard");
+            };
+            perShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(item);
+        }
+
+        final List<Object> results = new ArrayList<>();
+        for (Map.Entry<Integer, List<Object>> shard : perShard.entrySet()) {
+            results.add(on(shard.getKey(), invocation, new Object[]{shard.getValue()}));
+        }
+        return merge(invocation, results);
+    }
+
+    private Object everyShard(ShardRouter shards, MethodInvocation invocation) throws Throwable {
+        final Class<?> returnType = invocation.getMethod().getReturnType();
+        final boolean mergeable = returnType == void.class || returnType == int.class || returnType == long.class
+                || Iterable.class.isAssignableFrom(returnType) && !Slice.class.isAssignableFrom(returnType);
+        if (!mergeable) {
+            throw new UnsupportedOperationException(invocation.getMethod().getName() + " needs an owner when cards are sharded");
+        }
+
+        final List<Object> results = new ArrayList<>(shards.shardCount());
+        for (int shard = 0; shard < shards.shardCount(); shard++) {
+            results.add(on(shard, invocation, invocation.getArguments()));
+        }
+        return merge(invocation, results);
+    }
+
+    private static Object merge(MethodInvocation invocation, List<Object> results) {
+        final Class<?> returnType = invocation.getMethod().getReturnType();
+        if (returnType == long.class) {
+            return results.stream().mapToLong(result -> (Long) result).sum();
+        }
+        if (returnType == int.class) {
+            return results.stream().mapToInt(result -> (Integer) result).sum();
+        }
+        if (Iterable.class.isAssignableFrom(returnType)) {
+            final List<Object> merged = new ArrayList<>();
+            results.forEach(result -> ((Iterable<?>) result).forEach(merged::add));
+            return merged;
+        }
+        return null;
+    }
+
+    private static Object on(int shard, MethodInvocation invocation, Object[] arguments) throws Throwable {
+        final MethodInvocation call = ((ProxyMethodInvocation) invocation).invocableClone(arguments);
+        final Integer previous = ShardContext.bind(shard);
+        try {
+            return call.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+}
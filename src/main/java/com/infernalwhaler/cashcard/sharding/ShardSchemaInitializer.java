@@ -0,0 +1,62 @@
+package com.infernalwhaler.cashcard.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+
+/**
+ * Creates the schema on every shard that does not have it yet, then aligns the id sequences with the shard count,
+ * moving the cards of owners that hash elsewhere first when asked to.
+ * <p>
+ * Spring Boot's own script initialization only sees the routing data source, so at most shard 0; it runs first
+ * and this initializer leaves a shard it already set up alone.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class ShardSchemaInitializer implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private static final String SCHEMA_EXISTS = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'CASH_CARD'";
+
+    private final ShardRouter router;
+    private final ShardRebalancer rebalancer;
+    private final ResourceLoader resourceLoader;
+    private final List<String> schemaLocations;
+    private final boolean rebalanceOnStart;
+
+    ShardSchemaInitializer(ShardRouter router, ShardRebalancer rebalancer, ResourceLoader resourceLoader,
+                           List<String> schemaLocations, boolean rebalanceOnStart) {
+        this.router = router;
+        this.rebalancer = rebalancer;
+        this.resourceLoader = resourceLoader;
+        this.schemaLocations = schemaLocations;
+        this.rebalanceOnStart = rebalanceOnStart;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        for (int shard = 0; shard < router.shardCount(); shard++) {
+            if (new JdbcTemplate(router.dataSource(shard)).queryForObject(SCHEMA_EXISTS, Integer.class) == 0) {
+                final ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+                schemaLocations.forEach(location -> populator.addScript(resourceLoader.getResource(location)));
+                populator.execute(router.dataSource(shard));
+                log.info("Created the cash card schema on shard {}", shard);
+            }
+        }
+
+        if (rebalanceOnStart) {
+            rebalancer.rebalance();
+        } else {
+            rebalancer.alignIdentities();
+        }
+    }
+}
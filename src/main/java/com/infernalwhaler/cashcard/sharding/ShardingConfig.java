@@ -0,0 +1,86 @@
+package com.infernalwhaler.cashcard.sharding;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Owner-hash sharding of cash_card over N databases, only installed with {@code cashcard.sharding.enabled=true}.
+ * <p>
+ * The application keeps a single {@link DataSource}, routing to the shard bound by the repository proxies,
+ * see {@link ShardRoutingInterceptor}. Each shard carries the whole schema, summary trigger included, for the
+ * owners it holds.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@Configuration
+@ConditionalOnProperty(prefix = "cashcard.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    ShardRouter shardRouter(@Value("${cashcard.sharding.url:jdbc:h2:file:./data/cashcard-shard-{shard}}") String url,
+                            @Value("${cashcard.sharding.shards:4}") int shards,
+                            Environment environment) {
+        if (environment.getProperty("cashcard.journal.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("The write journal applies to a single database, it cannot be combined with cashcard.sharding.enabled");
+        }
+        return new ShardRouter(url, shards,
+                environment.getProperty("spring.datasource.username", "sa"),
+                environment.getProperty("spring.datasource.password", ""),
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ShardRouter shardRouter) {
+        return new ShardRoutingDataSource(shardRouter);
+    }
+
+    /**
+     * Puts {@link ShardRoutingInterceptor} in front of the transaction advice of every repository proxy.
+     */
+    @Bean
+    static BeanPostProcessor shardRoutingRepositories(ObjectProvider<ShardRouter> shardRouter) {
+        final ShardRoutingInterceptor interceptor = new ShardRoutingInterceptor(shardRouter);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(0, interceptor)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    ShardRebalancer shardRebalancer(ShardRouter shardRouter,
+                                    @Value("${cashcard.sharding.rebalance-chunk-size:1000}") int chunkSize) {
+        return new ShardRebalancer(shardRouter, chunkSize);
+    }
+
+    @Bean
+    @DependsOnDatabaseInitialization
+    ShardSchemaInitializer shardSchemaInitializer(ShardRouter shardRouter,
+                                                  ShardRebalancer shardRebalancer,
+                                                  ResourceLoader resourceLoader,
+                                                  @Value("${spring.sql.init.schema-locations:classpath:schema.sql}") List<String> schemaLocations,
+                                                  @Value("${cashcard.sharding.rebalance-on-start:false}") boolean rebalanceOnStart) {
+        return new ShardSchemaInitializer(shardRouter, shardRebalancer, resourceLoader, schemaLocations, rebalanceOnStart);
+    }
+}
@@ -0,0 +1,279 @@
+package com.infernalwhaler.cashcard.stream;
+
+import com.infernalwhaler.cashcard.model.CashCardEvent;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process fan-out of card changes to the GET /cashcards/stream subscribers of their owner.
+ * <p>
+ * Publishing never blocks on a subscriber: each one has a bounded queue, drained onto its connection by a virtual
+ * thread only while events are pending, so idle subscribers hold no thread. A subscriber whose queue is full is
+ * dropped, and reconnects with Last-Event-ID like after any other disconnect.
+ * <p>
+ * The last {@code replaySize} events of each owner are kept for resuming. Event ids start from the boot time in
+ * microseconds, so ids of a previous run are always older than anything kept: when the events after the
+ * Last-Event-ID are no longer all known, the subscriber gets a reset event instead and reads its cards again.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+public class CashCardEventBus implements AutoCloseable {
+
+    // queued to send a comment line, which keeps idle connections open and finds the closed ones
+    private static final Object HEARTBEAT = new Object();
+
+    private final ConcurrentHashMap<String, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong subscriberCount = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final int bufferSize;
+    private final int replaySize;
+    private final long timeoutMillis;
+    private final long retryMillis;
+    private final long retentionNanos;
+
+    public CashCardEventBus(int bufferSize, int replaySize, Duration timeout, Duration retry, Duration retention) {
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.timeoutMillis = timeout.toMillis();
+        this.retryMillis = retry.toMillis();
+        this.retentionNanos = retention.toNanos();
+    }
+
+    /**
+     * Hands a committed change to the subscribers of the owner. Owners nobody subscribed to recently only
+     * advance the event ids.
+     *
+     * @param cardId null for a reset, sent after bulk changes instead of one event per card.
+     */
+    public void publish(String owner, CashCardEvent.Type type, Long cardId, Long amount) {
+        // compute on the owner serializes with subscribe, so a subscriber either gets the event or a resume
+        // point after it
+        channels.compute(owner, (key, channel) -> {
+            final long next = sequence.incrementAndGet();
+            if (channel != null) {
+                channel.publish(new CashCardEvent(next, type, cardId, amount));
+            }
+            return channel;
+        });
+    }
+
+    /**
+     * @param lastEventId the id of the last event the subscriber received before reconnecting, null for a first
+     *                    connection. Any id the bus cannot resume from, malformed ones included, gets a reset.
+     * @return the emitter to return from the request handler.
+     */
+    public SseEmitter subscribe(String owner, String lastEventId) {
+        final Subscriber subscriber = new Subscriber(owner, new SseEmitter(timeoutMillis));
+        subscriberCount.incrementAndGet();
+        channels.compute(owner, (key, channel) -> {
+            final Channel target = channel == null ? new Channel(sequence.get()) : channel;
+            target.subscribe(subscriber, lastEventId);
+            return target;
+        });
+
+        final SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        emitter.onTimeout(emitter::complete);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    /**
+     * Queues a comment on every idle subscriber, and forgets owners without subscribers for longer than the retention.
+     */
+    @Scheduled(initialDelayString = "${cashcard.stream.heartbeat-interval:30s}",
+            fixedDelayString = "${cashcard.stream.heartbeat-interval:30s}")
+    public void heartbeat() {
+        final long now = System.nanoTime();
+        for (String owner : channels.keySet()) {
+            channels.computeIfPresent(owner, (key, channel) -> {
+                if (channel.subscribers.isEmpty()) {
+                    return now - channel.idleSince > retentionNanos ? null : channel;
+                }
+                for (Subscriber subscriber : channel.subscribers) {
+                    if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                        subscriber.schedule();
+                    }
+                }
+                return channel;
+            });
+        }
+    }
+
+    public long subscribers() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * @return subscribers dropped so far because they did not keep up.
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void close() {
+        final List<Subscriber> open = new ArrayList<>();
+        for (String owner : channels.keySet()) {
+            channels.computeIfPresent(owner, (key, channel) -> {
+                open.addAll(channel.subscribers);
+                return channel;
+            });
+        }
+        open.forEach(subscriber -> subscriber.emitter.complete());
+        senders.close();
+    }
+
+    /**
+     * Subscribers and recent events of one owner, only touched inside a compute on its key.
+     */
+    private final class Channel {
+
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private final ArrayDeque<CashCardEvent> recent = new ArrayDeque<>();
+        // a Last-Event-ID below this may have missed events no longer kept
+        private long resumableFrom;
+        private long idleSince = System.nanoTime();
+
+        Channel(long resumableFrom) {
+            this.resumableFrom = resumableFrom;
+        }
+
+        void publish(CashCardEvent event) {
+            if (recent.size() == replaySize) {
+                resumableFrom = recent.removeFirst().sequence();
+            }
+            recent.addLast(event);
+
+            for (Subscriber subscriber : List.copyOf(subscribers)) {
+                if (subscriber.queue.offer(event)) {
+                    subscriber.schedule();
+                } else if (subscriber.markClosed()) {
+                    // completed by a sender, the connection may be the one blocking
+                    dropped.increment();
+                    unsubscribe(subscriber);
+                    senders.execute(subscriber.emitter::complete);
+                }
+            }
+        }
+
+        void subscribe(Subscriber subscriber, String lastEventId) {
+            subscribers.add(subscriber);
+            if (lastEventId == null) {
+                return;
+            }
+
+            final long after = parse(lastEventId);
+            final List<CashCardEvent> missed = recent.stream().filter(event -> event.sequence() > after).toList();
+            if (after < resumableFrom || missed.size() > bufferSize) {
+                subscriber.queue.offer(new CashCardEvent(sequence.get(), CashCardEvent.Type.RESET, null, null));
+            } else {
+                subscriber.queue.addAll(missed);
+            }
+        }
+
+        void unsubscribe(Subscriber subscriber) {
+            if (subscribers.remove(subscriber) && subscribers.isEmpty()) {
+                idleSince = System.nanoTime();
+            }
+        }
+
+        private static long parse(String lastEventId) {
+            try {
+                return Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                return Long.MIN_VALUE;
+            }
+        }
+    }
+
+    private final class Subscriber {
+
+        private final String owner;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>(bufferSize);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private boolean retrySent;
+
+        Subscriber(String owner, SseEmitter emitter) {
+            this.owner = owner;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Starts a sender unless one is already running, it stops once the queue is empty.
+         */
+        void schedule() {
+            if (!closed.get() && sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            do {
+                try {
+                    if (!retrySent) {
+                        // also commits the response headers, so the client knows it is subscribed
+                        emitter.send(SseEmitter.event().reconnectTime(retryMillis));
+                        retrySent = true;
+                    }
+                    for (Object item = queue.poll(); item != null && !closed.get(); item = queue.poll()) {
+                        emitter.send(item == HEARTBEAT ? SseEmitter.event().comment("") : toEvent((CashCardEvent) item));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // the client went away, the emitter reports it through onError or onCompletion
+                    close();
+                    return;
+                } finally {
+                    sending.set(false);
+                }
+            } while (!queue.isEmpty() && !closed.get() && sending.compareAndSet(false, true));
+        }
+
+        private static SseEmitter.SseEventBuilder toEvent(CashCardEvent event) {
+            return SseEmitter.event()
+                    .id(Long.toString(event.sequence()))
+                    .name(event.type().eventName())
+                    .data(event, MediaType.APPLICATION_JSON);
+        }
+
+        boolean markClosed() {
+            if (closed.compareAndSet(false, true)) {
+                subscriberCount.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        void close() {
+            if (markClosed()) {
+                channels.computeIfPresent(owner, (key, channel) -> {
+                    channel.unsubscribe(this);
+                    return channel;
+                });
+            }
+        }
+    }
+}
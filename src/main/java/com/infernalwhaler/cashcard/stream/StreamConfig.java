@@ -0,0 +1,45 @@
+package com.infernalwhaler.cashcard.stream;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Change feed behind GET /cashcards/stream, on unless {@code cashcard.stream.enabled=false}.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@Configuration
+@ConditionalOnProperty(prefix = "cashcard.stream", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StreamConfig {
+
+    @Bean
+    CashCardEventBus cashCardEventBus(@Value("${cashcard.stream.buffer-size:64}") int bufferSize,
+                                      @Value("${cashcard.stream.replay-size:256}") int replaySize,
+                                      @Value("${cashcard.stream.timeout:30m}") Duration timeout,
+                                      @Value("${cashcard.stream.retry:3s}") Duration retry,
+                                      @Value("${cashcard.stream.retention:5m}") Duration retention) {
+        return new CashCardEventBus(bufferSize, replaySize, timeout, retry, retention);
+    }
+
+    @Bean
+    MeterBinder streamMetrics(CashCardEventBus cashCardEventBus) {
+        return registry -> {
+            Gauge.builder("cashcard.stream.subscribers", cashCardEventBus, CashCardEventBus::subscribers)
+                    .description("Open GET /cashcards/stream connections")
+                    .register(registry);
+            FunctionCounter.builder("cashcard.stream.dropped", cashCardEventBus, CashCardEventBus::dropped)
+                    .description("Subscribers disconnected because their buffer was full")
+                    .register(registry);
+        };
+    }
+}
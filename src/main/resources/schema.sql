@@ -1,6 +1,64 @@
 CREATE TABLE cash_card
 (
-    ID     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    AMOUNT NUMBER       NOT NULL DEFAULT 0,
-    OWNER  VARCHAR(256) NOT NULL
+    ID      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    AMOUNT  BIGINT       NOT NULL DEFAULT 0, -- minor units (cents)
+    OWNER   VARCHAR(256) NOT NULL,
+    VERSION BIGINT       NOT NULL DEFAULT 0 -- bumped by every write, served as the ETag
+);
+
+-- Serves owner-scoped reads sorted by amount, and the keyset pagination seek on (amount, id)
+CREATE INDEX idx_cash_card_owner_amount_id ON cash_card (owner, amount, id);
+
+-- Per-owner aggregate read by GET /cashcards/summary, kept up to date by CashCardSummaryTrigger
+CREATE TABLE cash_card_summary
+(
+    OWNER        VARCHAR(256) PRIMARY KEY,
+    CARD_COUNT   BIGINT NOT NULL,
+    TOTAL_AMOUNT BIGINT NOT NULL,
+    MIN_AMOUNT   BIGINT,
+    MAX_AMOUNT   BIGINT
+);
+
+CREATE TRIGGER trg_cash_card_summary AFTER INSERT, UPDATE, DELETE ON cash_card
+    FOR EACH ROW CALL 'com.infernalwhaler.cashcard.repository.CashCardSummaryTrigger';
+
+-- Append-only history of every balance change, written by CashCardLedgerTrigger in the writing transaction.
+-- Each entry carries the balance it left, so a point-in-time read is one seek on (card_id, recorded_at, id).
+-- The trigger stamps recorded_at when it writes the entry, the default only serves rows inserted by hand.
+CREATE TABLE cash_card_ledger
+(
+    ID            BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    CARD_ID       BIGINT                   NOT NULL,
+    OWNER         VARCHAR(256)             NOT NULL,
+    TYPE          VARCHAR(8)               NOT NULL, -- CREATE, UPDATE or DELETE
+    DELTA         BIGINT                   NOT NULL, -- signed movement in minor units
+    BALANCE_AFTER BIGINT                   NOT NULL,
+    VERSION       BIGINT                   NOT NULL,
+    RECORDED_AT   TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_cash_card_ledger_card ON cash_card_ledger (card_id, recorded_at, id);
+
+CREATE TRIGGER trg_cash_card_ledger AFTER INSERT, UPDATE, DELETE ON cash_card
+    FOR EACH ROW CALL 'com.infernalwhaler.cashcard.repository.CashCardLedgerTrigger';
+
+-- Last write journal entry applied to cash_card, moved in the same transaction as the entries it covers
+CREATE TABLE cash_card_journal_checkpoint
+(
+    ID               INT PRIMARY KEY,
+    APPLIED_SEQUENCE BIGINT NOT NULL
+);
+
+INSERT INTO cash_card_journal_checkpoint (ID, APPLIED_SEQUENCE) VALUES (1, 0);
+
+-- Progress of POST /cashcards/import, moved in the same transaction as every chunk of cards it covers
+CREATE TABLE cash_card_import
+(
+    OWNER          VARCHAR(256) NOT NULL,
+    ID             VARCHAR(64)  NOT NULL,
+    LINES_READ     BIGINT       NOT NULL DEFAULT 0,
+    CARDS_IMPORTED BIGINT       NOT NULL DEFAULT 0,
+    LINES_REJECTED BIGINT       NOT NULL DEFAULT 0,
+    COMPLETED      BOOLEAN      NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (OWNER, ID)
 );
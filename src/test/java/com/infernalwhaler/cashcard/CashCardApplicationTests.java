@@ -67,7 +67,7 @@ class CashCardApplicationTests {
     @Test
     @DirtiesContext
     void shouldCreateAnewCashCard() {
-        final CashCard newCashCard = new CashCard(null, 250.00, null);
+        final CashCard newCashCard = new CashCard(null, 25000, null);
 
         final ResponseEntity<Void> createResponse = restTemplate
                 .withBasicAuth("Sarah", "abc123")
@@ -190,7 +190,7 @@ class CashCardApplicationTests {
 
     @Test
     void shouldUpdateAnExistingCashCard() {
-        final CashCard cashCardUpdate = new CashCard(null, 19.99, null);
+        final CashCard cashCardUpdate = new CashCard(null, 1999, null);
         final HttpEntity<CashCard> request = new HttpEntity<>(cashCardUpdate);
 
         final ResponseEntity<Void> response = restTemplate
@@ -215,7 +215,7 @@ class CashCardApplicationTests {
 
     @Test
     void shouldNotUpdateACashCardThatDoesNotExist() {
-        final CashCard unknownCard = new CashCard(null, 19.99, null);
+        final CashCard unknownCard = new CashCard(null, 1999, null);
         final HttpEntity<CashCard> request = new HttpEntity<>(unknownCard);
 
         final ResponseEntity<Void> response = restTemplate
@@ -227,7 +227,7 @@ class CashCardApplicationTests {
 
     @Test
     void shouldNotUpdateACashCardThatIsOwnedByAnotherUser() {
-        final CashCard kumarsCard = new CashCard(null, 333.33, null);
+        final CashCard kumarsCard = new CashCard(null, 33333, null);
         final HttpEntity<CashCard> request = new HttpEntity<>(kumarsCard);
 
         final ResponseEntity<Void> response = restTemplate
@@ -0,0 +1,88 @@
+package com.infernalwhaler.cashcard;
+
+import com.infernalwhaler.cashcard.model.CashCardOperation;
+import com.infernalwhaler.cashcard.model.CashCardOperation.Type;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import net.minidev.json.JSONArray;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "cashcard.batch.chunk-size=2")
+class CashCardBatchTests {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    @DirtiesContext
+    void shouldApplyABatchInOrderAndReportEveryItem() {
+        final List<CashCardOperation> operations = List.of(
+                new CashCardOperation(Type.CREATE, null, 4200L),
+                new CashCardOperation(Type.CREATE, null, 4300L),
+                new CashCardOperation(Type.UPDATE, 99L, 1000L),
+                new CashCardOperation(Type.UPDATE, 102L, 1000L),
+                new CashCardOperation(Type.DELETE, 100L, null),
+                new CashCardOperation(Type.DELETE, 102L, null),
+                new CashCardOperation(Type.UPDATE, 100L, 500L),
+                new CashCardOperation(Type.UPDATE, 101L, null));
+
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .postForEntity("/cashcards/batch", operations, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        final DocumentContext documentContext = JsonPath.parse(response.getBody());
+        final JSONArray indexes = documentContext.read("$..index");
+        final JSONArray statuses = documentContext.read("$..status");
+        final Number firstCreatedId = documentContext.read("$[0].id");
+
+        assertThat(indexes).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+        assertThat(statuses).containsExactly(201, 201, 204, 404, 204, 404, 404, 400);
+        assertThat(firstCreatedId).isNotNull();
+
+        final ResponseEntity<String> created = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/" + firstCreatedId, String.class);
+        final Double createdAmount = JsonPath.parse(created.getBody()).read("$.amount");
+        assertThat(createdAmount).isEqualTo(42.00);
+
+        final ResponseEntity<String> updated = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/99", String.class);
+        final Double updatedAmount = JsonPath.parse(updated.getBody()).read("$.amount");
+        assertThat(updatedAmount).isEqualTo(10.00);
+
+        final ResponseEntity<String> kumarsCard = restTemplate
+                .withBasicAuth("Kumar", "xyz789")
+                .getForEntity("/cashcards/102", String.class);
+        final Double kumarsAmount = JsonPath.parse(kumarsCard.getBody()).read("$.amount");
+        assertThat(kumarsAmount).isEqualTo(200.00);
+    }
+
+    @Test
+    void shouldRejectBatchesFromUsersWhoAreNotCardOwners() {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("hank-owns-no-cards", "qrs456")
+                .postForEntity("/cashcards/batch", List.of(new CashCardOperation(Type.CREATE, null, 100L)), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+}
@@ -0,0 +1,103 @@
+package com.infernalwhaler.cashcard;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.model.CashCardOperation;
+import com.infernalwhaler.cashcard.repository.CashCardRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CashCardCacheTests {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(CashCardRepository.CASH_CARDS_CACHE);
+    }
+
+    @Test
+    void shouldCacheReadsByIdAndOwner() {
+        assertThat(cache.get("99:Sarah")).isNull();
+
+        getAmount("Sarah", "abc123", 99);
+
+        assertThat(cache.get("99:Sarah")).isNotNull();
+        assertThat(cache.get("99:Kumar")).isNull();
+    }
+
+    @Test
+    void shouldNeverServeAStaleCardAfterAnUpdate() {
+        assertThat(getAmount("Sarah", "abc123", 99)).isEqualTo(123.45);
+
+        final ResponseEntity<Void> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/99", HttpMethod.PUT, new HttpEntity<>(new CashCard(null, 700, null)), Void.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        assertThat(getAmount("Sarah", "abc123", 99)).isEqualTo(7.00);
+    }
+
+    @Test
+    void shouldEvictDeletedCards() {
+        getAmount("Sarah", "abc123", 99);
+
+        restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/99", HttpMethod.DELETE, null, Void.class);
+
+        assertThat(cache.get("99:Sarah")).isNull();
+        assertThat(restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/99", String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void shouldEvictCardsWrittenByABatch() {
+        getAmount("Sarah", "abc123", 100);
+
+        restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .postForEntity("/cashcards/batch", List.of(new CashCardOperation(CashCardOperation.Type.UPDATE, 100L, 800L)), String.class);
+
+        assertThat(getAmount("Sarah", "abc123", 100)).isEqualTo(8.00);
+    }
+
+    private Double getAmount(String username, String password, long id) {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth(username, password)
+                .getForEntity("/cashcards/" + id, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return JsonPath.parse(response.getBody()).read("$.amount", Double.class);
+    }
+}
@@ -0,0 +1,115 @@
+package com.infernalwhaler.cashcard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.infernalwhaler.cashcard.config.CborConfig;
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.model.CashCardOperation;
+import org.assertj.core.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The CBOR counterpart of {@link CashCardJsonTest}: the same cards round-trip through the converter the API negotiates.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@JsonTest
+@Import(CborConfig.class)
+class CashCardCborTest {
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+    @Autowired
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cbor;
+    private CashCard[] cashCards;
+
+    @BeforeEach
+    void setUp() {
+        cbor = cborConverter.getObjectMapper();
+        cashCards = Arrays.array(
+                new CashCard(99L, 12345, "Sarah"),
+                new CashCard(100L, 100, "Sarah"),
+                new CashCard(101L, 15000, "Sarah"));
+    }
+
+    @Test
+    void cashCardRoundTripTest() throws IOException {
+        final byte[] encoded = cbor.writeValueAsBytes(cashCards[0]);
+
+        assertThat(cbor.readValue(encoded, CashCard.class)).isEqualTo(cashCards[0]);
+        assertThat(encoded.length).isLessThan(jsonMapper.writeValueAsBytes(cashCards[0]).length);
+    }
+
+    /**
+     * The amount is an exact decimal in CBOR, not the text a JSON number would be written from.
+     */
+    @Test
+    void amountIsEncodedAsADecimal() throws IOException {
+        final JsonNode cashCard = cbor.readTree(cbor.writeValueAsBytes(cashCards[0]));
+
+        assertThat(cashCard.get("id").asLong()).isEqualTo(99L);
+        assertThat(cashCard.get("amount").isBigDecimal()).isTrue();
+        assertThat(cashCard.get("amount").decimalValue()).isEqualTo(new BigDecimal("123.45"));
+        assertThat(cashCard.has("version")).isFalse();
+    }
+
+    @Test
+    void cashCardListRoundTripTest() throws IOException {
+        final byte[] encoded = cbor.writeValueAsBytes(cashCards);
+
+        assertThat(cbor.readValue(encoded, CashCard[].class)).isEqualTo(cashCards);
+        assertThat(encoded.length).isLessThan(jsonMapper.writeValueAsBytes(cashCards).length);
+    }
+
+    @Test
+    void batchOperationsRoundTripTest() throws IOException {
+        final CashCardOperation[] operations = Arrays.array(
+                new CashCardOperation(CashCardOperation.Type.CREATE, null, 4200L),
+                new CashCardOperation(CashCardOperation.Type.DELETE, 100L, null));
+
+        assertThat(cbor.readValue(cbor.writeValueAsBytes(operations), CashCardOperation[].class)).isEqualTo(operations);
+    }
+
+    /**
+     * Integers and decimals from other CBOR encoders go through the same checks as JSON numbers.
+     */
+    @Test
+    void amountDeserializationIsExact() throws IOException {
+        assertThat(cbor.readValue(cbor.writeValueAsBytes(Map.of("amount", 42)), CashCard.class).amount()).isEqualTo(4200L);
+        assertThat(cbor.readValue(cbor.writeValueAsBytes(Map.of("amount", new BigDecimal("0.29"))), CashCard.class).amount()).isEqualTo(29L);
+        assertThat(cbor.readValue(cbor.writeValueAsBytes(Map.of("owner", "Sarah")), CashCard.class).amount()).isZero();
+    }
+
+    @Test
+    void amountWithMoreThanTwoDecimalsIsRejected() throws IOException {
+        final byte[] encoded = cbor.writeValueAsBytes(Map.of("amount", new BigDecimal("1.005")));
+
+        assertThatThrownBy(() -> cbor.readValue(encoded, CashCard.class)).isInstanceOf(InvalidFormatException.class);
+    }
+
+    @Test
+    void negativeAmountRoundTripTest() throws IOException {
+        final CashCard negative = new CashCard(1L, -5, "Sarah");
+
+        assertThat(cbor.readTree(cbor.writeValueAsBytes(negative)).get("amount").decimalValue()).isEqualTo(new BigDecimal("-0.05"));
+        assertThat(cbor.readValue(cbor.writeValueAsBytes(List.of(negative)), CashCard[].class)).containsExactly(negative);
+    }
+}
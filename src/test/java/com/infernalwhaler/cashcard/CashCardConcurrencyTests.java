@@ -0,0 +1,114 @@
+package com.infernalwhaler.cashcard;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers one hot card from many threads to prove debits and credits never lose an update.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CashCardConcurrencyTests {
+
+    private static final Logger log = LoggerFactory.getLogger(CashCardConcurrencyTests.class);
+    private static final int THREADS = 64;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    void shouldNotLoseConcurrentCredits() throws Exception {
+        final int operationsPerThread = 25;
+
+        final List<HttpStatusCode> statuses = hammer("/cashcards/101/credit", operationsPerThread);
+
+        assertThat(statuses).hasSize(THREADS * operationsPerThread).containsOnly(HttpStatus.OK);
+        assertThat(getAmount(101)).isEqualTo(150.00 + THREADS * operationsPerThread);
+    }
+
+    @Test
+    void shouldNeverOverdrawUnderConcurrentDebits() throws Exception {
+        // card 101 holds 150.00, so exactly 150 debits of 1.00 can succeed
+        final List<HttpStatusCode> statuses = hammer("/cashcards/101/debit", 4);
+
+        assertThat(statuses).filteredOn(HttpStatus.OK::equals).hasSize(150);
+        assertThat(statuses).filteredOn(HttpStatus.UNPROCESSABLE_ENTITY::equals).hasSize(THREADS * 4 - 150);
+        assertThat(getAmount(101)).isEqualTo(0.0);
+    }
+
+    @Test
+    void shouldNotAdjustCashCardsTheyDoNotOwn() {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .postForEntity("/cashcards/102/credit", new CashCard(null, 100, null), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void shouldRejectNonPositiveAdjustments() {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .postForEntity("/cashcards/101/debit", new CashCard(null, -500, null), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private List<HttpStatusCode> hammer(String url, int operationsPerThread) throws Exception {
+        final List<Future<List<HttpStatusCode>>> futures = new ArrayList<>();
+        final long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(() -> {
+                    final List<HttpStatusCode> statuses = new ArrayList<>();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        statuses.add(restTemplate
+                                .withBasicAuth("Sarah", "abc123")
+                                .postForEntity(url, new CashCard(null, 100, null), String.class)
+                                .getStatusCode());
+                    }
+                    return statuses;
+                }));
+            }
+        }
+
+        final List<HttpStatusCode> statuses = new ArrayList<>();
+        for (Future<List<HttpStatusCode>> future : futures) {
+            statuses.addAll(future.get());
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("{} x {} on one card: {} ops/sec", statuses.size(), url, String.format("%.0f", statuses.size() / seconds));
+        return statuses;
+    }
+
+    private Double getAmount(long id) {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/" + id, String.class);
+        return JsonPath.parse(response.getBody()).read("$.amount", Double.class);
+    }
+}
@@ -0,0 +1,116 @@
+package com.infernalwhaler.cashcard;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CashCardConditionalRequestTests {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    void shouldTagACashCardWithItsVersionAndKeepTheVersionOutOfTheBody() {
+        final ResponseEntity<String> response = exchange("/cashcards/99", HttpMethod.GET, null, Map.of());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"0\"");
+        assertThat(JsonPath.parse(response.getBody()).read("$", Map.class)).doesNotContainKey("version");
+    }
+
+    @Test
+    void shouldAnswerAnUnchangedCashCardWithNotModified() {
+        final ResponseEntity<String> response = exchange("/cashcards/99", HttpMethod.GET, null, Map.of(HttpHeaders.IF_NONE_MATCH, "\"0\""));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"0\"");
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void shouldReturnTheNewVersionOnceTheCashCardChanged() {
+        exchange("/cashcards/99/credit", HttpMethod.POST, new CashCard(null, 100, null), Map.of());
+
+        final ResponseEntity<String> response = exchange("/cashcards/99", HttpMethod.GET, null, Map.of(HttpHeaders.IF_NONE_MATCH, "\"0\""));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1\"");
+        assertThat(JsonPath.parse(response.getBody()).read("$.amount", Double.class)).isEqualTo(124.45);
+    }
+
+    @Test
+    void shouldAnswerAnUnchangedPageWithNotModifiedUntilACardOnItChanges() {
+        final String eTag = exchange("/cashcards", HttpMethod.GET, null, Map.of()).getHeaders().getETag();
+        assertThat(eTag).isNotNull();
+
+        assertThat(exchange("/cashcards", HttpMethod.GET, null, Map.of(HttpHeaders.IF_NONE_MATCH, eTag)).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        exchange("/cashcards/100/debit", HttpMethod.POST, new CashCard(null, 100, null), Map.of());
+
+        final ResponseEntity<String> changed = exchange("/cashcards", HttpMethod.GET, null, Map.of(HttpHeaders.IF_NONE_MATCH, eTag));
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void shouldOnlyUpdateACashCardStillAtTheExpectedVersion() {
+        final ResponseEntity<String> first = exchange("/cashcards/99", HttpMethod.PUT, new CashCard(null, 1000, null), Map.of(HttpHeaders.IF_MATCH, "\"0\""));
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(first.getHeaders().getETag()).isEqualTo("\"1\"");
+
+        final ResponseEntity<String> stale = exchange("/cashcards/99", HttpMethod.PUT, new CashCard(null, 2000, null), Map.of(HttpHeaders.IF_MATCH, "\"0\""));
+        assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        final ResponseEntity<String> response = exchange("/cashcards/99", HttpMethod.GET, null, Map.of());
+        assertThat(JsonPath.parse(response.getBody()).read("$.amount", Double.class)).isEqualTo(10.00);
+    }
+
+    @Test
+    void shouldOnlyDeleteACashCardStillAtTheExpectedVersion() {
+        exchange("/cashcards/99", HttpMethod.PUT, new CashCard(null, 1000, null), Map.of());
+
+        assertThat(exchange("/cashcards/99", HttpMethod.DELETE, null, Map.of(HttpHeaders.IF_MATCH, "\"0\"")).getStatusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(exchange("/cashcards/99", HttpMethod.DELETE, null, Map.of(HttpHeaders.IF_MATCH, "\"1\"")).getStatusCode())
+                .isEqualTo(HttpStatus.NO_CONTENT);
+    }
+
+    @Test
+    void shouldNotFindUnknownCashCardsOnConditionalRequests() {
+        assertThat(exchange("/cashcards/99999", HttpMethod.GET, null, Map.of(HttpHeaders.IF_NONE_MATCH, "\"0\"")).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(exchange("/cashcards/102", HttpMethod.PUT, new CashCard(null, 1000, null), Map.of(HttpHeaders.IF_MATCH, "\"0\"")).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private ResponseEntity<String> exchange(String url, HttpMethod method, Object body, Map<String, String> headers) {
+        final HttpHeaders requestHeaders = new HttpHeaders();
+        headers.forEach(requestHeaders::set);
+
+        return restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange(url, method, new HttpEntity<>(body, requestHeaders), String.class);
+    }
+}
@@ -0,0 +1,98 @@
+package com.infernalwhaler.cashcard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.model.CashCardOperation;
+import com.infernalwhaler.cashcard.model.CashCardOperationResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cards, pages and batches exchanged as CBOR instead of JSON.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CashCardContentNegotiationTests {
+
+    private static final MediaType APPLICATION_CBOR = MediaType.parseMediaType("application/cbor");
+
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    void shouldReturnACashCardAsCborWhenAsked() throws Exception {
+        final ResponseEntity<byte[]> response = exchange("/cashcards/99", HttpMethod.GET, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(APPLICATION_CBOR);
+        assertThat(cbor.readValue(response.getBody(), CashCard.class)).isEqualTo(new CashCard(99L, 12345, "Sarah"));
+    }
+
+    @Test
+    void shouldReturnAPageAsCborWhenAsked() throws Exception {
+        final ResponseEntity<byte[]> response = exchange("/cashcards?size=2&sort=amount,desc", HttpMethod.GET, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(cbor.readValue(response.getBody(), CashCard[].class))
+                .extracting(CashCard::amount)
+                .containsExactly(15000L, 12345L);
+    }
+
+    @Test
+    @DirtiesContext
+    void shouldApplyABatchSentAsCbor() throws Exception {
+        final byte[] operations = cbor.writeValueAsBytes(List.of(
+                new CashCardOperation(CashCardOperation.Type.CREATE, null, 4200L),
+                new CashCardOperation(CashCardOperation.Type.UPDATE, 102L, 1000L)));
+
+        final ResponseEntity<byte[]> response = exchange("/cashcards/batch", HttpMethod.POST, operations);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(cbor.readValue(response.getBody(), CashCardOperationResult[].class))
+                .extracting(CashCardOperationResult::status)
+                .containsExactly(201, 404);
+    }
+
+    @Test
+    void shouldKeepJsonAsTheDefault() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.ALL));
+
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/99", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    private ResponseEntity<byte[]> exchange(String url, HttpMethod method, byte[] body) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(APPLICATION_CBOR));
+        if (body != null) {
+            headers.setContentType(APPLICATION_CBOR);
+        }
+        return restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange(url, method, new HttpEntity<>(body, headers), byte[].class);
+    }
+}
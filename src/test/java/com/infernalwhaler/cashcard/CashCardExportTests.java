@@ -0,0 +1,78 @@
+package com.infernalwhaler.cashcard;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CashCardExportTests {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    void shouldExportEveryCashCardOfTheOwnerAsNdjson() {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/export", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).hasToString("application/x-ndjson");
+        assertOwnCards(response.getBody());
+    }
+
+    @Test
+    void shouldGzipTheExportWhenAccepted() throws IOException {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        final ResponseEntity<byte[]> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/export", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertOwnCards(new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void shouldRejectExportsFromUsersWhoAreNotCardOwners() {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("hank-owns-no-cards", "qrs456")
+                .getForEntity("/cashcards/export", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    private static void assertOwnCards(String ndjson) {
+        final List<String> lines = ndjson.lines().toList();
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines).map(line -> JsonPath.parse(line).read("$.id", Integer.class)).containsExactly(99, 100, 101);
+        assertThat(lines).map(line -> JsonPath.parse(line).read("$.owner", String.class)).containsOnly("Sarah");
+    }
+}
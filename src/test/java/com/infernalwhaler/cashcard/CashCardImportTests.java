@@ -0,0 +1,130 @@
+package com.infernalwhaler.cashcard;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import net.minidev.json.JSONArray;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"cashcard.import.chunk-size=2", "cashcard.import.insert-rows=2", "cashcard.import.queue-depth=1"})
+class CashCardImportTests {
+
+    private static final String CSV = "amount\n1.50\nabc\n\n2.25\n-1\n3.00\n";
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    @DirtiesContext
+    void shouldImportEveryValidLineAndReportTheOthers() {
+        final ResponseEntity<String> response = importFile(CSV, "text/csv", "onboarding");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        final DocumentContext documentContext = JsonPath.parse(response.getBody());
+        assertThat(documentContext.read("$.importId", String.class)).isEqualTo("onboarding");
+        assertThat(documentContext.read("$.linesRead", Integer.class)).isEqualTo(6);
+        assertThat(documentContext.read("$.cardsImported", Integer.class)).isEqualTo(3);
+        assertThat(documentContext.read("$.linesRejected", Integer.class)).isEqualTo(2);
+        assertThat(documentContext.read("$.completed", Boolean.class)).isTrue();
+        final JSONArray rejectedLines = documentContext.read("$.rejections[*].line");
+        assertThat(rejectedLines).containsExactly(3, 6);
+
+        assertThat(exportedAmounts()).contains(1.5, 2.25, 3.0);
+    }
+
+    @Test
+    @DirtiesContext
+    void shouldNotImportACompletedFileTwice() {
+        importFile(CSV, "text/csv", "twice");
+        final int cards = exportedAmounts().size();
+
+        final ResponseEntity<String> response = importFile(CSV, "text/csv", "twice");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(JsonPath.parse(response.getBody()).read("$.cardsImported", Integer.class)).isEqualTo(3);
+        assertThat(exportedAmounts()).hasSize(cards);
+    }
+
+    @Test
+    @DirtiesContext
+    void shouldImportNdjsonCardsOfTheCallerOnly() {
+        final String ndjson = """
+                {"amount": 12.34}
+                {"amount": 5, "owner": "Kumar"}
+                {"amount": 1.001}
+                """;
+
+        final ResponseEntity<String> response = importFile(ndjson, "application/x-ndjson", null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        final DocumentContext documentContext = JsonPath.parse(response.getBody());
+        assertThat(documentContext.read("$.cardsImported", Integer.class)).isEqualTo(1);
+        assertThat(documentContext.read("$.linesRejected", Integer.class)).isEqualTo(2);
+        assertThat(exportedAmounts()).contains(12.34);
+
+        final String importId = documentContext.read("$.importId");
+        final ResponseEntity<String> progress = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/import/" + importId, String.class);
+        assertThat(progress.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(JsonPath.parse(progress.getBody()).read("$.linesRead", Integer.class)).isEqualTo(3);
+
+        final ResponseEntity<String> othersProgress = restTemplate
+                .withBasicAuth("Kumar", "xyz789")
+                .getForEntity("/cashcards/import/" + importId, String.class);
+        assertThat(othersProgress.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void shouldRejectImportsFromUsersWhoAreNotCardOwners() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("hank-owns-no-cards", "qrs456")
+                .postForEntity("/cashcards/import", new HttpEntity<>(CSV, headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    private ResponseEntity<String> importFile(String body, String contentType, String importId) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(contentType));
+
+        return restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .postForEntity(importId == null ? "/cashcards/import" : "/cashcards/import?importId=" + importId,
+                        new HttpEntity<>(body, headers), String.class);
+    }
+
+    private List<Double> exportedAmounts() {
+        final String ndjson = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/export", String.class)
+                .getBody();
+
+        return ndjson.lines()
+                .map(line -> JsonPath.parse(line).read("$.amount", Double.class))
+                .toList();
+    }
+}
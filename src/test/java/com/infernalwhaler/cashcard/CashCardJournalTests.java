@@ -0,0 +1,141 @@
+package com.infernalwhaler.cashcard;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PUT and DELETE through the write-behind journal: acknowledged once durable, visible once applied.
+ * Each test works on its own card, so the whole class shares one context and one journal directory.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "cashcard.journal.enabled=true")
+@DirtiesContext
+class CashCardJournalTests {
+
+    @TempDir
+    static Path journalDirectory;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("cashcard.journal.directory", journalDirectory::toString);
+    }
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    void shouldApplyAJournaledUpdate() {
+        final ResponseEntity<Void> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/99", HttpMethod.PUT, new HttpEntity<>(new CashCard(null, 1999, null)), Void.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(eventually(() -> getAmount(99), 19.99)).isEqualTo(19.99);
+    }
+
+    @Test
+    void shouldApplyAJournaledDelete() {
+        final ResponseEntity<Void> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/100", HttpMethod.DELETE, null, Void.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(eventually(() -> getStatus(100), HttpStatus.NOT_FOUND)).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void shouldNotJournalWritesToCashCardsTheyDoNotOwn() {
+        final ResponseEntity<Void> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/102", HttpMethod.PUT, new HttpEntity<>(new CashCard(null, 1, null)), Void.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void shouldKeepConditionalUpdatesSynchronous() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch("\"0\"");
+
+        final ResponseEntity<Void> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/101", HttpMethod.PUT, new HttpEntity<>(new CashCard(null, 4200, null), headers), Void.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(getAmount(101)).isEqualTo(42.00);
+    }
+
+    @Test
+    void shouldSeeAJournaledUpdateInTheNextDebitAndRead() {
+        final URI location = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .postForLocation("/cashcards", new CashCard(null, 100, null));
+        final ResponseEntity<Void> put = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange(location, HttpMethod.PUT, new HttpEntity<>(new CashCard(null, 5000, null)), Void.class);
+        assertThat(put.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        final ResponseEntity<String> debit = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .postForEntity(location + "/debit", new CashCard(null, 1000, null), String.class);
+        assertThat(debit.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(JsonPath.parse(debit.getBody()).read("$.amount", Double.class)).isEqualTo(40.00);
+
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity(location, String.class);
+        assertThat(JsonPath.parse(response.getBody()).read("$.amount", Double.class)).isEqualTo(40.00);
+    }
+
+    private Double getAmount(long id) {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/" + id, String.class);
+        return JsonPath.parse(response.getBody()).read("$.amount", Double.class);
+    }
+
+    private HttpStatusCode getStatus(long id) {
+        return restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/" + id, String.class)
+                .getStatusCode();
+    }
+
+    /**
+     * Reads until the applier has caught up, or five seconds have passed.
+     */
+    private static <T> T eventually(Supplier<T> read, T expected) {
+        final long deadline = System.nanoTime() + 5_000_000_000L;
+        T value = read.get();
+        while (!expected.equals(value) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+            value = read.get();
+        }
+        return value;
+    }
+}
@@ -1,5 +1,6 @@
 package com.infernalwhaler.cashcard;
 
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.infernalwhaler.cashcard.model.CashCard;
 import org.assertj.core.util.Arrays;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +12,7 @@ import org.springframework.boot.test.json.JacksonTester;
 import java.io.IOException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author Sdeseure
@@ -30,9 +32,9 @@ public class CashCardJsonTest {
     @BeforeEach
     void setUp() {
         cashCards = Arrays.array(
-                new CashCard(99L, 123.45, "Sarah"),
-                new CashCard(100L, 1.00, "Sarah"),
-                new CashCard(101L, 150.00, "Sarah"));
+                new CashCard(99L, 12345, "Sarah"),
+                new CashCard(100L, 100, "Sarah"),
+                new CashCard(101L, 15000, "Sarah"));
     }
 
     /**
@@ -65,9 +67,9 @@ public class CashCardJsonTest {
                     "owner": "Sarah"
                 }
                 """;
-        assertThat(json.parse(expected)).isEqualTo(new CashCard(99L, 123.45, "Sarah"));
+        assertThat(json.parse(expected)).isEqualTo(new CashCard(99L, 12345, "Sarah"));
         assertThat(json.parseObject(expected).id()).isEqualTo(99L);
-        assertThat(json.parseObject(expected).amount()).isEqualTo(123.45);
+        assertThat(json.parseObject(expected).amount()).isEqualTo(12345L);
     }
 
     /**
@@ -90,4 +92,24 @@ public class CashCardJsonTest {
                 """;
         assertThat(jsonList.parse(expected)).isEqualTo(cashCards);
     }
+
+    /**
+     * 0.29 * 100 is 28.999999999999996 in double arithmetic, the amount must come from the decimal text instead.
+     */
+    @Test
+    void amountDeserializationIsExact() throws IOException {
+        assertThat(json.parseObject("{ \"amount\": 0.29 }").amount()).isEqualTo(29L);
+        assertThat(json.parseObject("{ \"amount\": 42 }").amount()).isEqualTo(4200L);
+        assertThat(json.parseObject("{ \"owner\": \"Sarah\" }").amount()).isZero();
+    }
+
+    @Test
+    void amountWithMoreThanTwoDecimalsIsRejected() {
+        assertThatThrownBy(() -> json.parseObject("{ \"amount\": 1.005 }")).isInstanceOf(InvalidFormatException.class);
+    }
+
+    @Test
+    void negativeAmountSerializationTest() throws IOException {
+        assertThat(json.write(new CashCard(1L, -5, "Sarah"))).extractingJsonPathNumberValue("@.amount").isEqualTo(-0.05);
+    }
 }
@@ -0,0 +1,158 @@
+package com.infernalwhaler.cashcard;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import net.minidev.json.JSONArray;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CashCardLedgerTests {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Test
+    @DirtiesContext
+    void shouldRecordEveryBalanceChangeInTheHistory() {
+        update(99, 5000);
+        restTemplate.withBasicAuth("Sarah", "abc123")
+                .postForEntity("/cashcards/99/credit", new CashCard(null, 250, null), String.class);
+        restTemplate.withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/99", HttpMethod.DELETE, null, Void.class);
+
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/99/history", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        final DocumentContext documentContext = JsonPath.parse(response.getBody());
+        final JSONArray types = documentContext.read("$..type");
+        final JSONArray deltas = documentContext.read("$..delta");
+        final JSONArray balances = documentContext.read("$..balanceAfter");
+        assertThat(types).containsExactly("CREATE", "UPDATE", "UPDATE", "DELETE");
+        assertThat(deltas).containsExactly(123.45, -73.45, 2.50, -52.50);
+        assertThat(balances).containsExactly(123.45, 50.00, 52.50, 0.00);
+    }
+
+    @Test
+    @DirtiesContext
+    void shouldReturnTheBalanceAtAPointInTime() throws InterruptedException {
+        Thread.sleep(5);
+        final Instant beforeUpdate = Instant.now();
+        Thread.sleep(5);
+        update(99, 5000);
+
+        final ResponseEntity<String> then = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/99?asOf=" + beforeUpdate, String.class);
+        assertThat(then.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(JsonPath.parse(then.getBody()).read("$.amount", Double.class)).isEqualTo(123.45);
+
+        final ResponseEntity<String> now = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/99?asOf=" + Instant.now(), String.class);
+        assertThat(JsonPath.parse(now.getBody()).read("$.amount", Double.class)).isEqualTo(50.00);
+
+        final ResponseEntity<String> beforeCreation = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/99?asOf=2000-01-01T00:00:00Z", String.class);
+        assertThat(beforeCreation.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DirtiesContext
+    void shouldPageThroughTheHistoryWithACursor() {
+        update(100, 200);
+        update(100, 300);
+
+        ResponseEntity<String> page = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/100/history?size=2", String.class);
+        final JSONArray firstPage = JsonPath.parse(page.getBody()).read("$..balanceAfter");
+        final String cursor = page.getHeaders().getFirst("X-Next-Cursor");
+
+        assertThat(firstPage).containsExactly(1.00, 2.00);
+        assertThat(cursor).isNotNull();
+
+        page = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/100/history?size=2&cursor=" + cursor, String.class);
+        final JSONArray secondPage = JsonPath.parse(page.getBody()).read("$..balanceAfter");
+
+        assertThat(secondPage).containsExactly(3.00);
+        assertThat(page.getHeaders().getFirst("X-Next-Cursor")).isNull();
+    }
+
+    @Test
+    @DirtiesContext
+    void shouldOrderChangesByWhenTheyWereAppliedRatherThanWhenTheirTransactionStarted() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // starts the long transaction on a card of another owner, so that it holds no lock the PUT needs
+                statement.executeUpdate("UPDATE cash_card SET amount = 20100, version = version + 1 WHERE id = 102");
+                Thread.sleep(5);
+                update(99, 5000);
+                Thread.sleep(5);
+                statement.executeUpdate("UPDATE cash_card SET amount = 7777, version = version + 1 WHERE id = 99");
+            }
+            connection.commit();
+        }
+
+        final ResponseEntity<String> now = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/99?asOf=" + Instant.now(), String.class);
+        assertThat(JsonPath.parse(now.getBody()).read("$.amount", Double.class)).isEqualTo(77.77);
+
+        final ResponseEntity<String> history = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/99/history", String.class);
+        final JSONArray balances = JsonPath.parse(history.getBody()).read("$..balanceAfter");
+        assertThat(balances).containsExactly(123.45, 50.00, 77.77);
+    }
+
+    @Test
+    void shouldNotShowTheHistoryOfCardsTheyDoNotOwn() {
+        final ResponseEntity<String> history = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/102/history", String.class);
+        final ResponseEntity<String> asOf = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/102?asOf=" + Instant.now(), String.class);
+
+        assertThat(history.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(asOf.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private void update(long id, long cents) {
+        final ResponseEntity<Void> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/" + id, HttpMethod.PUT, new HttpEntity<>(new CashCard(null, cents, null)), Void.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
+}
@@ -0,0 +1,66 @@
+package com.infernalwhaler.cashcard;
+
+import com.infernalwhaler.cashcard.config.ConcurrencyLimitingDataSource;
+import com.infernalwhaler.cashcard.config.LoadShedder;
+import com.infernalwhaler.cashcard.config.PoolWaitTimingDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load shedding with virtual threads, where requests queue for a JDBC permit before they reach the pool.
+ * One permit, so a second connection waits for as long as the first one is held.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "cashcard.jdbc.max-concurrency=1",
+        "cashcard.load-shedding.enabled=true",
+        "cashcard.load-shedding.target=10ms",
+        "cashcard.load-shedding.interval=200ms"})
+@DirtiesContext
+class CashCardLoadSheddingTests {
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    LoadShedder loadShedder;
+
+    @Test
+    void shouldTimeTheWaitForAJdbcPermit() {
+        assertThat(dataSource).isInstanceOf(PoolWaitTimingDataSource.class);
+        assertThat(((PoolWaitTimingDataSource) dataSource).getTargetDataSource()).isInstanceOf(ConcurrencyLimitingDataSource.class);
+    }
+
+    @Test
+    void shouldShedWhileRequestsQueueForAJdbcPermit() throws Exception {
+        final Thread waiting;
+        try (Connection held = dataSource.getConnection()) {
+            waiting = Thread.ofVirtual().start(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    assertThat(connection.isValid(1)).isTrue();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(300);
+        }
+        waiting.join();
+
+        // the 300 ms wait is the shortest of its interval, so the next one sheds
+        Thread.sleep(250);
+        assertThat(loadShedder.isOverloaded()).isTrue();
+    }
+}
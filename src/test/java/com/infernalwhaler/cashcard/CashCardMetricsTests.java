@@ -0,0 +1,70 @@
+package com.infernalwhaler.cashcard;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.cache.type=none",
+        "cashcard.metrics.slow-request-threshold=0ms"
+})
+@AutoConfigureObservability
+@ExtendWith(OutputCaptureExtension.class)
+class CashCardMetricsTests {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    void shouldExposeRequestRepositoryPoolAndPasswordMetrics() {
+        restTemplate.withBasicAuth("Sarah", "abc123").getForEntity("/cashcards/99", String.class);
+
+        final String scrape = scrape();
+
+        assertThat(scrape).contains("http_server_requests_seconds{");
+        assertThat(scrape).containsPattern("http_server_requests_seconds\\{[^}]*quantile=\"0.999\"[^}]*uri=\"/cashcards/\\{requestedId}\"");
+        assertThat(scrape).containsPattern("spring_data_repository_invocations_seconds_count\\{[^}]*method=\"findByIdAndOwner\"");
+        assertThat(scrape).contains("hikaricp_connections_acquire_seconds");
+        assertThat(scrape).containsPattern("cashcard_security_password_seconds_count\\{[^}]*operation=\"verify\"");
+        assertThat(scrape).containsPattern("cashcard_http_queries_count\\{[^}]*uri=\"/cashcards/\\{requestedId}\"");
+        assertThat(scrape).containsPattern("cache_gets_total\\{[^}]*cache=\"credentials\"");
+    }
+
+    @Test
+    void shouldRequireAuthenticationToScrape() {
+        assertThat(restTemplate.getForEntity("/actuator/prometheus", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void shouldLogTheQuerySequenceOfSlowRequests(CapturedOutput output) {
+        restTemplate.withBasicAuth("Sarah", "abc123").getForEntity("/cashcards/99", String.class);
+
+        assertThat(output.getOut()).contains("Slow request GET /cashcards/99 (/cashcards/{requestedId})");
+        assertThat(output.getOut()).containsIgnoringCase("FROM \"CASH_CARD\"");
+    }
+
+    private String scrape() {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+}
@@ -0,0 +1,102 @@
+package com.infernalwhaler.cashcard;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.offheap.OffHeapCardStore;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The API in the off-heap serving mode: reads from the store, writes through to H2.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "cashcard.offheap.enabled=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CashCardOffHeapTests {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    OffHeapCardStore store;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldServeTheSnapshotFromTheStore() {
+        assertThat(store.isLoaded()).isTrue();
+        assertThat(store.size()).isEqualTo(4);
+
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards?sort=amount,desc", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        final DocumentContext documentContext = JsonPath.parse(response.getBody());
+        assertThat(documentContext.read("$[*].id", Long[].class)).containsExactly(101L, 99L, 100L);
+    }
+
+    @Test
+    void shouldWriteThroughToTheDatabase() {
+        final ResponseEntity<Void> created = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .postForEntity("/cashcards", new CashCard(null, 25000, null), Void.class);
+        final URI location = created.getHeaders().getLocation();
+
+        restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/99", HttpMethod.PUT, new HttpEntity<>(new CashCard(null, 700, null)), Void.class);
+        restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/100", HttpMethod.DELETE, null, Void.class);
+
+        assertThat(getAmount(location.getPath())).isEqualTo(250.00);
+        assertThat(getAmount("/cashcards/99")).isEqualTo(7.00);
+        assertThat(jdbcTemplate.queryForObject("SELECT amount FROM cash_card WHERE id = 99", Long.class)).isEqualTo(700);
+        assertThat(store.get(100)).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cash_card WHERE id = 100", Integer.class)).isZero();
+    }
+
+    @Test
+    void shouldPageWithCursorsFromTheStore() {
+        final ResponseEntity<String> first = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards?cursor=&size=2", String.class);
+        final String cursor = first.getHeaders().getFirst("X-Next-Cursor");
+        final ResponseEntity<String> second = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards?cursor=" + cursor + "&size=2", String.class);
+
+        assertThat(JsonPath.parse(first.getBody()).read("$[*].id", Long[].class)).containsExactly(100L, 99L);
+        assertThat(JsonPath.parse(second.getBody()).read("$[*].id", Long[].class)).containsExactly(101L);
+        assertThat(second.getHeaders().getFirst("X-Next-Cursor")).isNull();
+    }
+
+    private Double getAmount(String path) {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity(path, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return JsonPath.parse(response.getBody()).read("$.amount", Double.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.infernalwhaler.cashcard;
+
+import com.jayway.jsonpath.JsonPath;
+import net.minidev.json.JSONArray;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CashCardPaginationTests {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    void shouldWalkAllCashCardsByFollowingTheCursor() {
+        final List<Object> amounts = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+
+        while (cursor != null) {
+            final ResponseEntity<String> response = restTemplate
+                    .withBasicAuth("Sarah", "abc123")
+                    .getForEntity("/cashcards?size=1&cursor=" + cursor, String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            final JSONArray page = JsonPath.parse(response.getBody()).read("$..amount");
+            amounts.addAll(page);
+            pages++;
+            cursor = response.getHeaders().getFirst("X-Next-Cursor");
+        }
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(amounts).containsExactly(1.00, 123.45, 150.00);
+    }
+
+    @Test
+    void shouldReturnAllCashCardsOnOnePageWithoutACursor() {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards?size=10&cursor=", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+
+        final JSONArray ids = JsonPath.parse(response.getBody()).read("$..id");
+        assertThat(ids).containsExactly(100, 99, 101);
+    }
+
+    @Test
+    void shouldRejectAMalformedCursor() {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards?cursor=not-a-cursor", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldRejectACustomSortInCursorMode() {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards?cursor=&sort=amount,desc", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,179 @@
+package com.infernalwhaler.cashcard;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the number of SQL statements each request issues, so a second round trip cannot sneak back in.
+ * The card cache is off so every request reaches the database.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.cache.type=none")
+class CashCardQueryCountTests {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    StatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        statementCounter.reset();
+    }
+
+    @Test
+    void shouldReadAnOwnedCashCardWithOneStatement() {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/99", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(statementCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAnswerUnknownAndForeignCashCardsWithOneStatement() {
+        final ResponseEntity<String> unknown = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/1000", String.class);
+
+        assertThat(unknown.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(statementCounter.count()).isEqualTo(1);
+
+        statementCounter.reset();
+        final ResponseEntity<String> foreign = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/102", String.class);
+
+        assertThat(foreign.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(statementCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldUpdateWithOneStatement() {
+        final HttpEntity<CashCard> request = new HttpEntity<>(new CashCard(null, 12345, null));
+
+        final ResponseEntity<Void> owned = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/99", HttpMethod.PUT, request, Void.class);
+
+        assertThat(owned.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(statementCounter.count()).isEqualTo(1);
+
+        statementCounter.reset();
+        final ResponseEntity<Void> foreign = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/102", HttpMethod.PUT, request, Void.class);
+
+        assertThat(foreign.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(statementCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectAForeignDeleteWithOneStatement() {
+        final ResponseEntity<Void> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/102", HttpMethod.DELETE, null, Void.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(statementCounter.count()).isEqualTo(1);
+    }
+
+    /**
+     * Counts every statement prepared through the application's DataSource.
+     */
+    static class StatementCounter {
+
+        private final AtomicInteger statements = new AtomicInteger();
+
+        int count() {
+            return statements.get();
+        }
+
+        void reset() {
+            statements.set(0);
+        }
+
+        void increment() {
+            statements.incrementAndGet();
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        @Bean
+        StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource(ObjectProvider<StatementCounter> counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return new CountingDataSource(dataSource, counter);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    static class CountingDataSource extends DelegatingDataSource {
+
+        private final ObjectProvider<StatementCounter> counter;
+
+        CountingDataSource(DataSource target, ObjectProvider<StatementCounter> counter) {
+            super(target);
+            this.counter = counter;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            final Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare") || method.getName().equals("createStatement")) {
+                            counter.getObject().increment();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
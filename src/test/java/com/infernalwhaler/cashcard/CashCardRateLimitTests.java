@@ -0,0 +1,89 @@
+package com.infernalwhaler.cashcard;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * One owner floods GET /cashcards from many threads while another polls within its limit.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"cashcard.rate-limit.enabled=true",
+                "cashcard.rate-limit.roles.CARD-OWNER.rate=20",
+                "cashcard.rate-limit.roles.CARD-OWNER.burst=20"})
+class CashCardRateLimitTests {
+
+    private static final int FLOODING_THREADS = 16;
+    private static final long DURATION_MILLIS = 2000;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    void shouldKeepServingWellBehavedOwnersWhileOneFloods() throws Exception {
+        final List<Future<List<HttpStatusCode>>> flood = new ArrayList<>();
+        final List<HttpStatusCode> polls = new ArrayList<>();
+        final long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(FLOODING_THREADS)) {
+            for (int thread = 0; thread < FLOODING_THREADS; thread++) {
+                flood.add(executor.submit(() -> {
+                    final List<HttpStatusCode> statuses = new ArrayList<>();
+                    while (System.currentTimeMillis() < deadline) {
+                        statuses.add(restTemplate.withBasicAuth("Kumar", "xyz789")
+                                .getForEntity("/cashcards", String.class)
+                                .getStatusCode());
+                    }
+                    return statuses;
+                }));
+            }
+
+            // 10 requests per second, half of the limit
+            while (System.currentTimeMillis() < deadline) {
+                polls.add(restTemplate.withBasicAuth("Sarah", "abc123")
+                        .getForEntity("/cashcards", String.class)
+                        .getStatusCode());
+                Thread.sleep(100);
+            }
+        }
+
+        final List<HttpStatusCode> flooded = new ArrayList<>();
+        for (Future<List<HttpStatusCode>> statuses : flood) {
+            flooded.addAll(statuses.get());
+        }
+
+        assertThat(polls).isNotEmpty().containsOnly(HttpStatus.OK);
+        // the burst plus the sustained rate over the run, with a second of slack
+        assertThat(flooded).filteredOn(HttpStatus.OK::equals).hasSizeLessThanOrEqualTo(20 + 20 * 3);
+        assertThat(flooded).contains(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void shouldTellRateLimitedOwnersWhenToRetry() {
+        ResponseEntity<String> response;
+        do {
+            response = restTemplate.withBasicAuth("Kumar", "xyz789").getForEntity("/cashcards", String.class);
+        } while (response.getStatusCode() == HttpStatus.OK);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+}
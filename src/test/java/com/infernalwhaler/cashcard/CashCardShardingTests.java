@@ -0,0 +1,163 @@
+package com.infernalwhaler.cashcard;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.repository.CashCardRepository;
+import com.infernalwhaler.cashcard.sharding.ShardRebalancer;
+import com.infernalwhaler.cashcard.sharding.ShardRouter;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import net.minidev.json.JSONArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cards spread over three file-based H2 shards. Every context gets fresh database files.
+ *
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "cashcard.sharding.enabled=true",
+        "cashcard.sharding.shards=3"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CashCardShardingTests {
+
+    @TempDir
+    static Path shardDirectory;
+
+    @DynamicPropertySource
+    static void shardProperties(DynamicPropertyRegistry registry) {
+        registry.add("cashcard.sharding.url", () -> "jdbc:h2:file:" + shardDirectory.resolve("${random.uuid}") + "/shard-{shard}");
+    }
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    ShardRouter shardRouter;
+
+    @Autowired
+    ShardRebalancer shardRebalancer;
+
+    @Autowired
+    CashCardRepository cashCardRepository;
+
+    @Test
+    void shouldStoreEachCardOnItsOwnersShardWithAnIdOfThatShard() {
+        for (String owner : new String[]{"Sarah", "Kumar"}) {
+            final long id = create(owner, password(owner), 1000);
+            final int shard = shardRouter.shardOf(owner);
+
+            assertThat(shardRouter.shardOf(id)).isEqualTo(shard);
+            for (int other = 0; other < shardRouter.shardCount(); other++) {
+                assertThat(countOn(other, id)).isEqualTo(other == shard ? 1 : 0);
+            }
+            assertThat(getAmount(owner, password(owner), id)).isEqualTo(10.00);
+        }
+    }
+
+    @Test
+    void shouldListOnlyTheCardsOfTheOwnerFromTheirShard() {
+        create("Sarah", "abc123", 100);
+        create("Sarah", "abc123", 200);
+        create("Kumar", "xyz789", 300);
+
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(JsonPath.parse(response.getBody()).read("$.length()", Integer.class)).isEqualTo(2);
+        assertThat(cashCardRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldMoveMisplacedCardsToTheirOwnersShard() {
+        final int home = shardRouter.shardOf("Sarah");
+        final int wrong = (home + 1) % shardRouter.shardCount();
+        new JdbcTemplate(shardRouter.dataSource(wrong))
+                .update("INSERT INTO cash_card (id, amount, owner) VALUES (1000, 4200, 'Sarah')");
+
+        assertThat(shardRebalancer.rebalance()).isEqualTo(1);
+
+        assertThat(countOn(wrong, 1000)).isZero();
+        assertThat(countOn(home, 1000)).isEqualTo(1);
+        assertThat(getAmount("Sarah", "abc123", 1000)).isEqualTo(42.00);
+        assertThat(create("Sarah", "abc123", 100)).isGreaterThan(1000);
+    }
+
+    @Test
+    void shouldMoveTheHistoryOfACardWithIt() throws InterruptedException {
+        final int home = shardRouter.shardOf("Sarah");
+        final int wrong = (home + 1) % shardRouter.shardCount();
+        final JdbcTemplate wrongShard = new JdbcTemplate(shardRouter.dataSource(wrong));
+        wrongShard.update("INSERT INTO cash_card (id, amount, owner) VALUES (1000, 4200, 'Sarah')");
+        Thread.sleep(5);
+        final Instant beforeUpdate = Instant.now();
+        Thread.sleep(5);
+        wrongShard.update("UPDATE cash_card SET amount = 5000, version = version + 1 WHERE id = 1000");
+
+        assertThat(shardRebalancer.rebalance()).isEqualTo(1);
+
+        final ResponseEntity<String> history = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/1000/history", String.class);
+        assertThat(history.getStatusCode()).isEqualTo(HttpStatus.OK);
+        final DocumentContext documentContext = JsonPath.parse(history.getBody());
+        final JSONArray types = documentContext.read("$..type");
+        final JSONArray balances = documentContext.read("$..balanceAfter");
+        assertThat(types).containsExactly("CREATE", "UPDATE");
+        assertThat(balances).containsExactly(42.00, 50.00);
+
+        final ResponseEntity<String> then = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .getForEntity("/cashcards/1000?asOf=" + beforeUpdate, String.class);
+        assertThat(JsonPath.parse(then.getBody()).read("$.amount", Double.class)).isEqualTo(42.00);
+        assertThat(wrongShard.queryForObject("SELECT COUNT(*) FROM cash_card_ledger WHERE card_id = 1000", Integer.class)).isZero();
+    }
+
+    private long create(String owner, String password, long amount) {
+        final ResponseEntity<Void> response = restTemplate
+                .withBasicAuth(owner, password)
+                .postForEntity("/cashcards", new CashCard(null, amount, null), Void.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        final URI location = response.getHeaders().getLocation();
+        return Long.parseLong(location.getPath().substring(location.getPath().lastIndexOf('/') + 1));
+    }
+
+    private Double getAmount(String owner, String password, long id) {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth(owner, password)
+                .getForEntity("/cashcards/" + id, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return JsonPath.parse(response.getBody()).read("$.amount", Double.class);
+    }
+
+    private int countOn(int shard, long id) {
+        return new JdbcTemplate(shardRouter.dataSource(shard))
+                .queryForObject("SELECT COUNT(*) FROM cash_card WHERE id = ?", Integer.class, id);
+    }
+
+    private static String password(String owner) {
+        return "Sarah".equals(owner) ? "abc123" : "xyz789";
+    }
+}
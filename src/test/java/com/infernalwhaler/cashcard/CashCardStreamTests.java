@@ -0,0 +1,138 @@
+package com.infernalwhaler.cashcard;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Timeout(value = 20, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+class CashCardStreamTests {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    @DirtiesContext
+    void shouldPushChangesToTheCallersCardsOnly() throws Exception {
+        final HttpResponse<Stream<String>> stream = subscribe("Sarah", "abc123", null);
+        assertThat(stream.statusCode()).isEqualTo(200);
+        assertThat(stream.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith("text/event-stream"));
+
+        try (Stream<String> lines = stream.body()) {
+            restTemplate.withBasicAuth("Kumar", "xyz789")
+                    .exchange("/cashcards/102", HttpMethod.PUT, new HttpEntity<>(new CashCard(null, 100, null)), Void.class);
+            restTemplate.withBasicAuth("Sarah", "abc123")
+                    .exchange("/cashcards/99", HttpMethod.PUT, new HttpEntity<>(new CashCard(null, 1999, null)), Void.class);
+
+            final Map<String, String> event = nextEvent(lines.iterator());
+            assertThat(event.get("event")).isEqualTo("updated");
+
+            final DocumentContext data = JsonPath.parse(event.get("data"));
+            assertThat(data.read("$.cardId", Long.class)).isEqualTo(99L);
+            assertThat(data.read("$.amount", Double.class)).isEqualTo(19.99);
+            assertThat(String.valueOf(data.read("$.sequence", Long.class))).isEqualTo(event.get("id"));
+        }
+    }
+
+    @Test
+    @DirtiesContext
+    void shouldReplayTheEventsMissedSinceLastEventId() throws Exception {
+        final String lastEventId;
+        try (Stream<String> lines = subscribe("Sarah", "abc123", null).body()) {
+            restTemplate.withBasicAuth("Sarah", "abc123")
+                    .postForEntity("/cashcards/100/credit", new HttpEntity<>(new CashCard(null, 100, null)), String.class);
+            lastEventId = nextEvent(lines.iterator()).get("id");
+        }
+
+        restTemplate.withBasicAuth("Sarah", "abc123")
+                .exchange("/cashcards/101", HttpMethod.DELETE, null, Void.class);
+
+        try (Stream<String> lines = subscribe("Sarah", "abc123", lastEventId).body()) {
+            final Map<String, String> event = nextEvent(lines.iterator());
+
+            assertThat(event.get("event")).isEqualTo("deleted");
+            assertThat(JsonPath.parse(event.get("data")).read("$.cardId", Long.class)).isEqualTo(101L);
+        }
+    }
+
+    @Test
+    void shouldAskForAResetWhenLastEventIdCannotBeResumed() throws Exception {
+        for (String lastEventId : new String[]{"1", "not-an-id"}) {
+            try (Stream<String> lines = subscribe("Sarah", "abc123", lastEventId).body()) {
+                assertThat(nextEvent(lines.iterator()).get("event")).isEqualTo("reset");
+            }
+        }
+    }
+
+    @Test
+    void shouldNotStreamToUsersWhoAreNotCardOwners() throws Exception {
+        final HttpResponse<Stream<String>> stream = subscribe("hank-owns-no-cards", "qrs456", null);
+
+        assertThat(stream.statusCode()).isEqualTo(403);
+        stream.body().close();
+    }
+
+    private HttpResponse<Stream<String>> subscribe(String username, String password, String lastEventId) throws Exception {
+        final HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/cashcards/stream"))
+                .header("Accept", "text/event-stream")
+                .header("Authorization", "Basic " + Base64.getEncoder()
+                        .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8)));
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return httpClient.send(request.GET().build(), HttpResponse.BodyHandlers.ofLines());
+    }
+
+    /**
+     * Reads up to the next named event, skipping the retry hint and heartbeat comments.
+     */
+    private static Map<String, String> nextEvent(Iterator<String> lines) {
+        final Map<String, String> fields = new HashMap<>();
+        while (lines.hasNext()) {
+            final String line = lines.next();
+            if (line.isEmpty()) {
+                if (fields.containsKey("event")) {
+                    return fields;
+                }
+                fields.clear();
+            } else if (!line.startsWith(":")) {
+                final int colon = line.indexOf(':');
+                fields.put(line.substring(0, colon), line.substring(colon + 1).stripLeading());
+            }
+        }
+        throw new AssertionError("stream ended before the next event");
+    }
+}
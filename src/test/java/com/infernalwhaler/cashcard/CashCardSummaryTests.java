@@ -0,0 +1,116 @@
+package com.infernalwhaler.cashcard;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import com.infernalwhaler.cashcard.model.CashCardOperation;
+import com.infernalwhaler.cashcard.repository.CashCardRepository;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CashCardSummaryTests {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    CashCardRepository cashCardRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldReturnTheSummaryOfTheOwnersCards() {
+        final DocumentContext summary = getSummary("Sarah", "abc123");
+
+        assertThat(summary.read("$.cardCount", Integer.class)).isEqualTo(3);
+        assertThat(summary.read("$.totalAmount", Double.class)).isEqualTo(274.45);
+        assertThat(summary.read("$.minAmount", Double.class)).isEqualTo(1.00);
+        assertThat(summary.read("$.maxAmount", Double.class)).isEqualTo(150.00);
+
+        assertThat(getSummary("Kumar", "xyz789").read("$.totalAmount", Double.class)).isEqualTo(200.00);
+    }
+
+    @Test
+    void shouldKeepTheSummaryInStepWithEveryWrite() {
+        exchangeAsSarah("/cashcards", HttpMethod.POST, new CashCard(null, 5000, null));
+        exchangeAsSarah("/cashcards/99", HttpMethod.PUT, new CashCard(null, 50, null));
+        exchangeAsSarah("/cashcards/101/debit", HttpMethod.POST, new CashCard(null, 15000, null));
+        exchangeAsSarah("/cashcards/100", HttpMethod.DELETE, null);
+        exchangeAsSarah("/cashcards/batch", HttpMethod.POST, List.of(new CashCardOperation(CashCardOperation.Type.CREATE, null, 2500L)));
+
+        // left: 99 = 0.50, 101 = 0.00, the created 50.00 and 25.00
+        final DocumentContext summary = getSummary("Sarah", "abc123");
+        assertThat(summary.read("$.cardCount", Integer.class)).isEqualTo(4);
+        assertThat(summary.read("$.totalAmount", Double.class)).isEqualTo(75.50);
+        assertThat(summary.read("$.minAmount", Double.class)).isEqualTo(0.00);
+        assertThat(summary.read("$.maxAmount", Double.class)).isEqualTo(50.00);
+
+        assertThat(cashCardRepository.findOwnersWithStaleSummary()).isEmpty();
+    }
+
+    @Test
+    void shouldStartOverAfterTheLastCardWasDeleted() {
+        exchangeAsSarah("/cashcards/99", HttpMethod.DELETE, null);
+        exchangeAsSarah("/cashcards/100", HttpMethod.DELETE, null);
+        exchangeAsSarah("/cashcards/101", HttpMethod.DELETE, null);
+        exchangeAsSarah("/cashcards", HttpMethod.POST, new CashCard(null, 4200, null));
+
+        final DocumentContext summary = getSummary("Sarah", "abc123");
+        assertThat(summary.read("$.cardCount", Integer.class)).isEqualTo(1);
+        assertThat(summary.read("$.totalAmount", Double.class)).isEqualTo(42.00);
+        assertThat(summary.read("$.minAmount", Double.class)).isEqualTo(42.00);
+        assertThat(summary.read("$.maxAmount", Double.class)).isEqualTo(42.00);
+
+        assertThat(cashCardRepository.findOwnersWithStaleSummary()).isEmpty();
+    }
+
+    @Test
+    void shouldFindAndRepairADriftedSummary() {
+        jdbcTemplate.update("UPDATE cash_card_summary SET total_amount = 1, max_amount = 1 WHERE owner = 'Kumar'");
+
+        assertThat(cashCardRepository.findOwnersWithStaleSummary()).containsExactly("Kumar");
+
+        cashCardRepository.rebuildSummary("Kumar");
+
+        assertThat(cashCardRepository.findOwnersWithStaleSummary()).isEmpty();
+        assertThat(getSummary("Kumar", "xyz789").read("$.maxAmount", Double.class)).isEqualTo(200.00);
+    }
+
+    private DocumentContext getSummary(String username, String password) {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth(username, password)
+                .getForEntity("/cashcards/summary", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return JsonPath.parse(response.getBody());
+    }
+
+    private void exchangeAsSarah(String url, HttpMethod method, Object body) {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "abc123")
+                .exchange(url, method, body == null ? null : new HttpEntity<>(body), String.class);
+
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+    }
+}
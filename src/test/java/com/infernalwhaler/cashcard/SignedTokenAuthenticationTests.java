@@ -0,0 +1,116 @@
+package com.infernalwhaler.cashcard;
+
+import com.infernalwhaler.cashcard.security.TokenKeyRing;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "cashcard.security.token.enabled=true")
+class SignedTokenAuthenticationTests {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    TokenKeyRing tokenKeyRing;
+
+    @Test
+    void shouldReturnACashCardForAValidToken() {
+        final ResponseEntity<String> response = getWithToken("/cashcards/99", tokenFor("Sarah", "abc123"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        final Number id = JsonPath.parse(response.getBody()).read("$.id");
+        assertThat(id).isEqualTo(99);
+    }
+
+    @Test
+    void shouldNotIssueATokenForBadCredentials() {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth("Sarah", "BAD-PASSWORD")
+                .postForEntity("/auth/token", null, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * A token cannot be traded for a fresh one, otherwise it would never expire.
+     */
+    @Test
+    void shouldNotIssueATokenForABearerToken() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(tokenFor("Sarah", "abc123"));
+
+        final ResponseEntity<String> response = restTemplate
+                .exchange("/auth/token", HttpMethod.POST, new HttpEntity<>(headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    void shouldRejectATamperedToken() {
+        final String token = tokenFor("Sarah", "abc123");
+        final String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(getWithToken("/cashcards/99", tampered).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(getWithToken("/cashcards/99", "not-a-token").getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void shouldCarryTheRolesOfTheTokenOwner() {
+        final ResponseEntity<String> response = getWithToken("/cashcards/99", tokenFor("hank-owns-no-cards", "qrs456"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    void shouldScopeReadsToTheTokenOwner() {
+        final ResponseEntity<String> response = getWithToken("/cashcards/99", tokenFor("Kumar", "xyz789"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void shouldAcceptTokensSignedByThePreviousKeyOnly() {
+        final String token = tokenFor("Sarah", "abc123");
+
+        tokenKeyRing.rotate();
+        assertThat(getWithToken("/cashcards/99", token).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        tokenKeyRing.rotate();
+        assertThat(getWithToken("/cashcards/99", token).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private String tokenFor(String username, String password) {
+        final ResponseEntity<String> response = restTemplate
+                .withBasicAuth(username, password)
+                .postForEntity("/auth/token", null, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        final DocumentContext documentContext = JsonPath.parse(response.getBody());
+        assertThat((String) documentContext.read("$.tokenType")).isEqualTo("Bearer");
+        return documentContext.read("$.token");
+    }
+
+    private ResponseEntity<String> getWithToken(String url, String token) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
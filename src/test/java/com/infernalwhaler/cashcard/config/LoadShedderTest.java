@@ -0,0 +1,51 @@
+package com.infernalwhaler.cashcard.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class LoadShedderTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    private final AtomicLong now = new AtomicLong();
+    private final LoadShedder loadShedder = new LoadShedder(Duration.ofMillis(50), Duration.ofMillis(500), now::get);
+
+    @Test
+    void shouldShedOnlyAfterAnIntervalWithoutAnyShortWait() {
+        loadShedder.recordPoolWait(80 * MILLIS);
+        loadShedder.recordPoolWait(120 * MILLIS);
+        assertThat(loadShedder.isOverloaded()).isFalse();
+
+        now.addAndGet(500 * MILLIS);
+        assertThat(loadShedder.isOverloaded()).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreABurstThatDrains() {
+        loadShedder.recordPoolWait(400 * MILLIS);
+        loadShedder.recordPoolWait(MILLIS);
+
+        now.addAndGet(500 * MILLIS);
+        assertThat(loadShedder.isOverloaded()).isFalse();
+    }
+
+    @Test
+    void shouldRecoverAfterAnIntervalWithoutWaits() {
+        loadShedder.recordPoolWait(80 * MILLIS);
+        now.addAndGet(500 * MILLIS);
+        assertThat(loadShedder.isOverloaded()).isTrue();
+
+        now.addAndGet(500 * MILLIS);
+        assertThat(loadShedder.isOverloaded()).isFalse();
+    }
+}
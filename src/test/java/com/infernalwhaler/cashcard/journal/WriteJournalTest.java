@@ -0,0 +1,176 @@
+package com.infernalwhaler.cashcard.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class WriteJournalTest {
+
+    private static final long FLUSH_INTERVAL = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldAcknowledgeAppendsOnceDurableAndHandThemToTheApplierInOrder() throws Exception {
+        try (WriteJournal journal = new WriteJournal(directory, 1 << 20, FLUSH_INTERVAL, 256)) {
+            final List<CompletableFuture<Void>> acknowledgements = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                acknowledgements.add(journal.append(JournalEntry.Type.UPDATE, i, i * 100L, "Sarah"));
+            }
+            CompletableFuture.allOf(acknowledgements.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+            final List<JournalEntry> durable = new ArrayList<>();
+            journal.drainDurable(durable, 1000, 1, TimeUnit.SECONDS);
+
+            assertThat(durable).hasSize(100);
+            assertThat(durable).extracting(JournalEntry::sequence).isSorted().startsWith(1L).endsWith(100L);
+        }
+    }
+
+    @Test
+    void shouldReplayAfterRestartAndContinueTheSequence() throws Exception {
+        try (WriteJournal journal = new WriteJournal(directory, 1 << 20, FLUSH_INTERVAL, 256)) {
+            journal.append(JournalEntry.Type.UPDATE, 99, 700, "Sarah").join();
+            journal.append(JournalEntry.Type.DELETE, 100, 0, "Sarah").join();
+        }
+
+        try (WriteJournal journal = new WriteJournal(directory, 1 << 20, FLUSH_INTERVAL, 256)) {
+            assertThat(replay(journal, 0)).containsExactly(
+                    new JournalEntry(1, JournalEntry.Type.UPDATE, 99, 700, "Sarah"),
+                    new JournalEntry(2, JournalEntry.Type.DELETE, 100, 0, "Sarah"));
+            assertThat(replay(journal, 1)).extracting(JournalEntry::sequence).containsExactly(2L);
+
+            journal.append(JournalEntry.Type.UPDATE, 101, 1, "Kumar").join();
+            assertThat(replay(journal, 2)).extracting(JournalEntry::sequence).containsExactly(3L);
+        }
+    }
+
+    @Test
+    void shouldStopReplayingASegmentAtATornRecord() throws Exception {
+        try (WriteJournal journal = new WriteJournal(directory, 1 << 20, FLUSH_INTERVAL, 256)) {
+            journal.append(JournalEntry.Type.UPDATE, 99, 700, "Sarah").join();
+            journal.append(JournalEntry.Type.UPDATE, 100, 800, "Sarah").join();
+        }
+        // flip the last byte of the second record's payload, as a crash in the middle of a write would leave it
+        final Path segment = segments().getFirst();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            final int secondRecord = 2 * Integer.BYTES + buffer.getInt(0);
+            final int lastByte = secondRecord + 2 * Integer.BYTES + buffer.getInt(secondRecord) - 1;
+            buffer.put(lastByte, (byte) (buffer.get(lastByte) ^ 1));
+        }
+
+        try (WriteJournal journal = new WriteJournal(directory, 1 << 20, FLUSH_INTERVAL, 256)) {
+            assertThat(replay(journal, 0)).extracting(JournalEntry::id).containsExactly(99L);
+        }
+    }
+
+    @Test
+    void shouldRollOverFullSegmentsAndDeleteThemOnceApplied() throws Exception {
+        try (WriteJournal journal = new WriteJournal(directory, 256, FLUSH_INTERVAL, 256)) {
+            for (int i = 0; i < 20; i++) {
+                journal.append(JournalEntry.Type.UPDATE, i, i, "Sarah").join();
+            }
+            assertThat(segments()).hasSizeGreaterThan(2);
+            assertThat(replay(journal, 0)).hasSize(20);
+
+            journal.deleteAppliedSegments(20);
+
+            assertThat(segments()).hasSize(1);
+        }
+    }
+
+    @Test
+    void shouldRestartMoreThanOnceWithoutWrites() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            new WriteJournal(directory, 1 << 20, FLUSH_INTERVAL, 256).close();
+        }
+
+        try (WriteJournal journal = new WriteJournal(directory, 1 << 20, FLUSH_INTERVAL, 256)) {
+            journal.append(JournalEntry.Type.UPDATE, 99, 700, "Sarah").join();
+            assertThat(replay(journal, 0)).extracting(JournalEntry::sequence).containsExactly(1L);
+        }
+    }
+
+    @Test
+    void shouldNeitherAcknowledgeNorReplayEntriesWhoseFlushFailed() throws Exception {
+        final AtomicBoolean failing = new AtomicBoolean(true);
+        try (WriteJournal journal = new WriteJournal(directory, 1 << 20, FLUSH_INTERVAL, 256) {
+            @Override
+            void force(MappedByteBuffer buffer, int index, int length) {
+                if (failing.get()) {
+                    throw new UncheckedIOException(new IOException("device gone"));
+                }
+                super.force(buffer, index, length);
+            }
+        }) {
+            final CompletableFuture<Void> lost = journal.append(JournalEntry.Type.UPDATE, 99, 700, "Sarah");
+            assertThatThrownBy(lost::join).isInstanceOf(CompletionException.class);
+            assertThat(journal.awaitApplied("Sarah", Duration.ZERO)).isTrue();
+
+            failing.set(false);
+            journal.append(JournalEntry.Type.UPDATE, 100, 800, "Sarah").join();
+        }
+
+        try (WriteJournal journal = new WriteJournal(directory, 1 << 20, FLUSH_INTERVAL, 256)) {
+            assertThat(replay(journal, 0)).extracting(JournalEntry::id).containsExactly(100L);
+        }
+    }
+
+    @Test
+    void shouldHoldAnOwnerUntilItsEntriesAreApplied() throws Exception {
+        try (WriteJournal journal = new WriteJournal(directory, 1 << 20, FLUSH_INTERVAL, 256)) {
+            journal.append(JournalEntry.Type.UPDATE, 99, 700, "Sarah").join();
+            journal.append(JournalEntry.Type.DELETE, 100, 0, "Sarah").join();
+
+            assertThat(journal.awaitApplied("Sarah", Duration.ofMillis(10))).isFalse();
+            assertThat(journal.awaitApplied("Kumar", Duration.ZERO)).isTrue();
+            assertThat(journal.isDeletePending(100)).isTrue();
+
+            final List<JournalEntry> durable = new ArrayList<>();
+            journal.drainDurable(durable, 1000, 1, TimeUnit.SECONDS);
+            Thread.ofPlatform().start(() -> journal.markApplied(2, durable));
+
+            assertThat(journal.awaitApplied("Sarah", Duration.ofSeconds(5))).isTrue();
+            assertThat(journal.isDeletePending(100)).isFalse();
+        }
+    }
+
+    private static List<JournalEntry> replay(WriteJournal journal, long afterSequence) throws IOException {
+        final List<JournalEntry> entries = new ArrayList<>();
+        journal.replay(afterSequence, entries::add);
+        return entries;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.infernalwhaler.cashcard.offheap;
+
+import com.infernalwhaler.cashcard.model.CashCard;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class OffHeapCardStoreTest {
+
+    private final OffHeapCardStore store = new OffHeapCardStore();
+
+    @Test
+    void shouldReadBackWhatWasPut() {
+        store.put(new CashCard(99L, 12345, "Sarah", 3L));
+
+        assertThat(store.get(99)).isEqualTo(new CashCard(99L, 12345, "Sarah", 3L));
+        assertThat(store.get(99, "Sarah")).isNotNull();
+        assertThat(store.version(99, "Sarah")).isEqualTo(3);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotServeCardsOfAnotherOwnerOrUnknownIds() {
+        store.put(new CashCard(99L, 12345, "Sarah", 0L));
+
+        assertThat(store.get(99, "Kumar")).isNull();
+        assertThat(store.version(99, "Kumar")).isEqualTo(-1);
+        assertThat(store.get(100)).isNull();
+        assertThat(store.get(5_000_000)).isNull();
+    }
+
+    @Test
+    void shouldKeepTheOwnerIndexInStepWithWrites() {
+        store.put(new CashCard(1L, 100, "Sarah", 0L));
+        store.put(new CashCard(2L, 200, "Sarah", 0L));
+        store.put(new CashCard(3L, 300, "Sarah", 0L));
+        store.put(new CashCard(4L, 400, "Kumar", 0L));
+
+        store.remove(1);
+        store.put(new CashCard(3L, 333, "Kumar", 1L));
+
+        assertThat(store.findByOwner("Sarah", 0, 10, false)).extracting(CashCard::id).containsExactly(2L);
+        assertThat(store.findByOwner("Kumar", 0, 10, false)).extracting(CashCard::amount).containsExactly(333L, 400L);
+        assertThat(store.findByOwner("hank-owns-no-cards", 0, 10, false)).isEmpty();
+        assertThat(store.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldPageTheCardsOfAnOwnerByAmountThenId() {
+        store.put(new CashCard(1L, 300, "Sarah", 0L));
+        store.put(new CashCard(2L, 100, "Sarah", 0L));
+        store.put(new CashCard(3L, 200, "Sarah", 0L));
+        store.put(new CashCard(4L, 100, "Sarah", 0L));
+        store.put(new CashCard(5L, 50, "Kumar", 0L));
+        store.put(new CashCard(1L, 150, "Sarah", 1L));
+
+        assertThat(store.findByOwner("Sarah", 0, 10, false)).extracting(CashCard::id).containsExactly(2L, 4L, 1L, 3L);
+        assertThat(store.findByOwner("Sarah", 1, 2, false)).extracting(CashCard::id).containsExactly(4L, 1L);
+        assertThat(store.findByOwner("Sarah", 0, 2, true)).extracting(CashCard::id).containsExactly(3L, 1L);
+        assertThat(store.findByOwner("Sarah", 4, 2, false)).isEmpty();
+
+        assertThat(store.findByOwnerAfter("Sarah", 100, 2, 2)).extracting(CashCard::id).containsExactly(4L, 1L);
+        assertThat(store.findByOwnerAfter("Sarah", 120, 0, 10)).extracting(CashCard::id).containsExactly(1L, 3L);
+        assertThat(store.findByOwnerAfter("Sarah", 200, 3, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepThousandsOfCardsOfOneOwnerInOrderAcrossBlocks() {
+        final List<CashCard> cashCards = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            cashCards.add(new CashCard(id, id % 97, "Sarah", 0L));
+        }
+        Collections.shuffle(cashCards, new Random(42));
+        cashCards.forEach(store::put);
+        for (long id = 1; id <= 5000; id += 3) {
+            store.remove(id);
+        }
+        store.put(new CashCard(2L, 1_000_000, "Sarah", 1L));
+
+        final List<CashCard> expected = store.findByOwner("Sarah", 0, 10_000, false).stream()
+                .sorted(Comparator.comparingLong(CashCard::amount).thenComparingLong(CashCard::id))
+                .toList();
+        assertThat(store.findByOwner("Sarah", 0, 10_000, false)).hasSize(3333).isEqualTo(expected);
+        assertThat(store.findByOwner("Sarah", 1000, 10, false)).isEqualTo(expected.subList(1000, 1010));
+        assertThat(store.findByOwner("Sarah", 0, 1, true)).extracting(CashCard::id).containsExactly(2L);
+
+        final CashCard cursor = expected.get(2000);
+        assertThat(store.findByOwnerAfter("Sarah", cursor.amount(), cursor.id(), 10)).isEqualTo(expected.subList(2001, 2011));
+    }
+
+    @Test
+    void shouldAllocateChunksOnlyForTheIdsInUse() {
+        store.put(new CashCard(1L, 1, "Sarah", 0L));
+        store.put(new CashCard(10_000_000L, 2, "Sarah", 0L));
+
+        assertThat(store.get(10_000_000L).amount()).isEqualTo(2);
+        assertThat(store.offHeapBytes()).isEqualTo(2L * (1 << 20) * OffHeapCardStore.RECORD_BYTES);
+    }
+}
@@ -0,0 +1,136 @@
+package com.infernalwhaler.cashcard.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class CachingAuthenticationProviderTest {
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private InMemoryUserDetailsManager users;
+    private CredentialCache credentialCache;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        users = new InMemoryUserDetailsManager(User.builder()
+                .username("Sarah")
+                .password(passwordEncoder.encode("abc123"))
+                .roles("CARD-OWNER")
+                .build());
+        credentialCache = new CredentialCache(2, Duration.ofMinutes(5));
+        provider = providerWith(credentialCache);
+    }
+
+    @Test
+    void shouldServeRepeatAuthenticationsFromTheCache() {
+        provider.authenticate(basic("Sarah", "abc123"));
+        final Authentication second = provider.authenticate(basic("Sarah", "abc123"));
+
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getName()).isEqualTo("Sarah");
+        assertThat(credentialCache.stats().hits()).isEqualTo(1);
+        assertThat(credentialCache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNeverCacheBadCredentials() {
+        assertThatThrownBy(() -> provider.authenticate(basic("Sarah", "BAD-PASSWORD")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> provider.authenticate(basic("Sarah", "BAD-PASSWORD")))
+                .isInstanceOf(BadCredentialsException.class);
+
+        assertThat(credentialCache.stats().hits()).isZero();
+        assertThat(credentialCache.stats().size()).isZero();
+    }
+
+    @Test
+    void shouldRejectTheOldPasswordOnceItChanged() {
+        provider.authenticate(basic("Sarah", "abc123"));
+
+        users.updateUser(User.withUserDetails(users.loadUserByUsername("Sarah"))
+                .password(passwordEncoder.encode("new-password"))
+                .build());
+
+        assertThatThrownBy(() -> provider.authenticate(basic("Sarah", "abc123")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(provider.authenticate(basic("Sarah", "new-password")).isAuthenticated()).isTrue();
+    }
+
+    @Test
+    void shouldPickUpChangedRoles() {
+        provider.authenticate(basic("Sarah", "abc123"));
+
+        users.updateUser(User.withUserDetails(users.loadUserByUsername("Sarah"))
+                .roles("NON-OWNER")
+                .build());
+
+        final Authentication result = provider.authenticate(basic("Sarah", "abc123"));
+        assertThat(result.getAuthorities())
+                .extracting(Object::toString)
+                .containsExactly("ROLE_NON-OWNER");
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTheTtl() {
+        final CredentialCache expiringCache = new CredentialCache(2, Duration.ZERO);
+        final CachingAuthenticationProvider expiringProvider = providerWith(expiringCache);
+
+        expiringProvider.authenticate(basic("Sarah", "abc123"));
+        expiringProvider.authenticate(basic("Sarah", "abc123"));
+
+        assertThat(expiringCache.stats().hits()).isZero();
+        assertThat(expiringCache.stats().misses()).isEqualTo(2);
+        assertThat(expiringCache.stats().size()).isZero();
+    }
+
+    @Test
+    void shouldStayWithinItsMaximumSize() {
+        credentialCache.put("a", "Sarah", "fp");
+        credentialCache.put("b", "Sarah", "fp");
+        credentialCache.put("c", "Sarah", "fp");
+
+        assertThat(credentialCache.stats().size()).isEqualTo(2);
+        assertThat(credentialCache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDropEveryEntryOfAnInvalidatedUser() {
+        credentialCache.put("a", "Sarah", "fp");
+        credentialCache.put("b", "Kumar", "fp");
+
+        credentialCache.invalidate("Sarah");
+
+        assertThat(credentialCache.get("a")).isNull();
+        assertThat(credentialCache.get("b")).isNotNull();
+    }
+
+    private CachingAuthenticationProvider providerWith(CredentialCache cache) {
+        final DaoAuthenticationProvider dao = new DaoAuthenticationProvider();
+        dao.setUserDetailsService(users);
+        dao.setPasswordEncoder(passwordEncoder);
+        return new CachingAuthenticationProvider(dao, users, cache);
+    }
+
+    private static Authentication basic(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -0,0 +1,67 @@
+package com.infernalwhaler.cashcard.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(Map.of(
+            "CARD-OWNER", new TokenBucketRateLimiter.Limit(10, 3),
+            "AUDITOR", new TokenBucketRateLimiter.Limit(100, 1)), now::get);
+
+    @Test
+    void shouldLetABurstThroughAndThenOneRequestPerInterval() {
+        final Authentication sarah = user("Sarah", "ROLE_CARD-OWNER");
+
+        assertThat(rateLimiter.tryAcquire(sarah)).isZero();
+        assertThat(rateLimiter.tryAcquire(sarah)).isZero();
+        assertThat(rateLimiter.tryAcquire(sarah)).isZero();
+        assertThat(rateLimiter.tryAcquire(sarah)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(rateLimiter.tryAcquire(sarah)).isZero();
+        assertThat(rateLimiter.tryAcquire(sarah)).isPositive();
+    }
+
+    @Test
+    void shouldKeepOneBucketPerPrincipal() {
+        final Authentication sarah = user("Sarah", "ROLE_CARD-OWNER");
+        for (int request = 0; request < 3; request++) {
+            rateLimiter.tryAcquire(sarah);
+        }
+
+        assertThat(rateLimiter.tryAcquire(sarah)).isPositive();
+        assertThat(rateLimiter.tryAcquire(user("Kumar", "ROLE_CARD-OWNER"))).isZero();
+    }
+
+    @Test
+    void shouldApplyTheMostGenerousRoleAndNotLimitOthers() {
+        final Authentication auditor = user("Ada", "ROLE_CARD-OWNER", "ROLE_AUDITOR");
+        assertThat(rateLimiter.tryAcquire(auditor)).isZero();
+        assertThat(rateLimiter.tryAcquire(auditor)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+
+        final Authentication hank = user("hank-owns-no-cards", "ROLE_NON-OWNER");
+        for (int request = 0; request < 1000; request++) {
+            assertThat(rateLimiter.tryAcquire(hank)).isZero();
+        }
+    }
+
+    private static Authentication user(String name, String... roles) {
+        return UsernamePasswordAuthenticationToken.authenticated(name, null, AuthorityUtils.createAuthorityList(roles));
+    }
+}
@@ -0,0 +1,72 @@
+package com.infernalwhaler.cashcard.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Sdeseure
+ * @project cash card
+ * @date 17/10/2026
+ */
+
+class TokenKeyRingTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldSignWithTheFirstKeyOfTheFile() throws IOException {
+        final Path keyFile = write("# shared keys\nk2=" + SECRET + "\n\nk1=" + SECRET + "\n");
+
+        final TokenKeyRing keyRing = new TokenKeyRing(keyFile);
+
+        assertThat(keyRing.signingKey().kid()).isEqualTo("k2");
+        assertThat(keyRing.verificationMac("k1")).isNotNull();
+    }
+
+    @Test
+    void shouldRejectALineWithoutASeparator() throws IOException {
+        final Path keyFile = write("k1" + SECRET + "\n");
+
+        assertThatThrownBy(() -> new TokenKeyRing(keyFile))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("kid=base64-secret");
+    }
+
+    @Test
+    void shouldRejectASecretThatIsNotBase64() throws IOException {
+        final Path keyFile = write("k1=not base64!\n");
+
+        assertThatThrownBy(() -> new TokenKeyRing(keyFile))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("k1");
+    }
+
+    @Test
+    void shouldKeepTheCurrentKeysWhenAReloadedFileIsInvalid() throws IOException {
+        final Path keyFile = write("k1=" + SECRET + "\n");
+        final TokenKeyRing keyRing = new TokenKeyRing(keyFile);
+
+        Files.writeString(keyFile, "=" + SECRET + "\n");
+        Files.setLastModifiedTime(keyFile, FileTime.from(Instant.now().plusSeconds(60)));
+        keyRing.refresh();
+
+        assertThat(keyRing.signingKey().kid()).isEqualTo("k1");
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("token-keys"), content);
+    }
+}
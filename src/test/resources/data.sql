@@ -1,4 +1,4 @@
-INSERT INTO CASH_CARD(ID, AMOUNT, OWNER) VALUES (99, 123.45, 'Sarah');
-INSERT INTO CASH_CARD(ID, AMOUNT, OWNER) VALUES (100, 1.00, 'Sarah');
-INSERT INTO CASH_CARD(ID, AMOUNT, OWNER) VALUES (101, 150.00, 'Sarah');
-INSERT INTO CASH_CARD(ID, AMOUNT, OWNER) VALUES (102, 200.00, 'Kumar');
\ No newline at end of file
+INSERT INTO CASH_CARD(ID, AMOUNT, OWNER) VALUES (99, 12345, 'Sarah');
+INSERT INTO CASH_CARD(ID, AMOUNT, OWNER) VALUES (100, 100, 'Sarah');
+INSERT INTO CASH_CARD(ID, AMOUNT, OWNER) VALUES (101, 15000, 'Sarah');
+INSERT INTO CASH_CARD(ID, AMOUNT, OWNER) VALUES (102, 20000, 'Kumar');
\ No newline at end of file